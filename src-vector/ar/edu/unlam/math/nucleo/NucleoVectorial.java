@@ -0,0 +1,107 @@
+package ar.edu.unlam.math.nucleo;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Núcleo que procesa varios valores por instrucción con la Vector API de Java
+ * (jdk.incubator.vector), con vectores del ancho preferido por el procesador.
+ * Los valores que no completan un vector se procesan con el ciclo escalar. Los
+ * resultados pueden diferir del escalar en el redondeo, porque las sumas se
+ * reparten entre los elementos del vector y los productos se suman con
+ * multiplicación y suma fusionadas.
+ *
+ * Está en un directorio de fuentes aparte porque requiere Java 16 o posterior,
+ * mientras que el resto de la biblioteca compila para Java 7:
+ *
+ * <pre>
+ * javac --add-modules jdk.incubator.vector -cp bin -d bin src-vector/ar/edu/unlam/math/nucleo/NucleoVectorial.java
+ * java --add-modules jdk.incubator.vector -Dar.edu.unlam.math.nucleo=vectorial ...
+ * </pre>
+ *
+ * Si la clase o el módulo no están disponibles, {@link Nucleo} utiliza el
+ * núcleo por defecto.
+ *
+ * @author yoni
+ *
+ */
+public class NucleoVectorial extends NucleoEscalar {
+	private static final VectorSpecies<Double> ESPECIE = DoubleVector.SPECIES_PREFERRED;
+	private static final int ANCHO = ESPECIE.length();
+
+	@Override
+	public double producto(double[] a, int inicioA, double[] b, int inicioB, int n) {
+		DoubleVector suma = DoubleVector.zero(ESPECIE);
+		int i = 0;
+		for (int limite = ESPECIE.loopBound(n); i < limite; i += ANCHO) {
+			DoubleVector va = DoubleVector.fromArray(ESPECIE, a, inicioA + i);
+			DoubleVector vb = DoubleVector.fromArray(ESPECIE, b, inicioB + i);
+			suma = va.fma(vb, suma);
+		}
+		double resultado = suma.reduceLanes(VectorOperators.ADD);
+		for (; i < n; i++)
+			resultado += a[inicioA + i] * b[inicioB + i];
+		return resultado;
+	}
+
+	@Override
+	public double sumaAbsolutos(double[] a, int inicio, int n) {
+		DoubleVector suma = DoubleVector.zero(ESPECIE);
+		int i = 0;
+		for (int limite = ESPECIE.loopBound(n); i < limite; i += ANCHO)
+			suma = suma.add(DoubleVector.fromArray(ESPECIE, a, inicio + i).abs());
+		double resultado = suma.reduceLanes(VectorOperators.ADD);
+		for (; i < n; i++)
+			resultado += Math.abs(a[inicio + i]);
+		return resultado;
+	}
+
+	@Override
+	public double sumaCuadrados(double[] a, int inicio, int n) {
+		DoubleVector suma = DoubleVector.zero(ESPECIE);
+		int i = 0;
+		for (int limite = ESPECIE.loopBound(n); i < limite; i += ANCHO) {
+			DoubleVector va = DoubleVector.fromArray(ESPECIE, a, inicio + i);
+			suma = va.fma(va, suma);
+		}
+		double resultado = suma.reduceLanes(VectorOperators.ADD);
+		for (; i < n; i++)
+			resultado += a[inicio + i] * a[inicio + i];
+		return resultado;
+	}
+
+	@Override
+	public double maximoAbsoluto(double[] a, int inicio, int n) {
+		DoubleVector maximo = DoubleVector.zero(ESPECIE);
+		int i = 0;
+		for (int limite = ESPECIE.loopBound(n); i < limite; i += ANCHO)
+			maximo = maximo.max(DoubleVector.fromArray(ESPECIE, a, inicio + i).abs());
+		double resultado = maximo.reduceLanes(VectorOperators.MAX);
+		for (; i < n; i++)
+			resultado = Math.max(resultado, Math.abs(a[inicio + i]));
+		return resultado;
+	}
+
+	@Override
+	public void axpy(double alfa, double[] x, int inicioX, double[] y, int inicioY, int n) {
+		DoubleVector valfa = DoubleVector.broadcast(ESPECIE, alfa);
+		int i = 0;
+		for (int limite = ESPECIE.loopBound(n); i < limite; i += ANCHO) {
+			DoubleVector vx = DoubleVector.fromArray(ESPECIE, x, inicioX + i);
+			DoubleVector vy = DoubleVector.fromArray(ESPECIE, y, inicioY + i);
+			vx.fma(valfa, vy).intoArray(y, inicioY + i);
+		}
+		for (; i < n; i++)
+			y[inicioY + i] += alfa * x[inicioX + i];
+	}
+
+	@Override
+	public void escalar(double alfa, double[] a, int inicio, int n) {
+		int i = 0;
+		for (int limite = ESPECIE.loopBound(n); i < limite; i += ANCHO)
+			DoubleVector.fromArray(ESPECIE, a, inicio + i).mul(alfa).intoArray(a, inicio + i);
+		for (; i < n; i++)
+			a[inicio + i] *= alfa;
+	}
+}
@@ -0,0 +1,390 @@
+package ar.edu.unlam.math;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Resuelve un lote de sistemas de ecuaciones guardados en archivos. Cada
+ * sistema pasa por tres etapas: lectura, resolución y escritura del resultado.
+ * La lectura y la escritura se hacen en un hilo cada una y la resolución en un
+ * pool de hilos configurable, de modo que mientras se resuelve un sistema ya
+ * se está leyendo el siguiente y escribiendo el anterior. La cantidad de
+ * sistemas cargados en memoria a la vez está limitada.
+ *
+ * @author yoni
+ *
+ */
+public class EjecutorSEL {
+	private static final String EXTENSION_SALIDA = ".out";
+
+	// Atributos ~
+	// -----------------------------------------------------------------
+	/**
+	 * Cantidad de sistemas que se resuelven a la vez
+	 */
+	private final int hilos;
+	/**
+	 * Cantidad máxima de sistemas en memoria entre la lectura y la escritura
+	 */
+	private final int enMemoria;
+	/**
+	 * Refinamiento con el que se resuelve cada sistema
+	 */
+	private SEL.Refinamiento refinamiento = SEL.Refinamiento.NINGUNO;
+
+	/**
+	 * Tiempos y resultado del procesamiento de un archivo
+	 */
+	public static class Resultado {
+		private final File archivo;
+		private long nanosCarga, nanosResolucion, nanosEscritura;
+		private double error = Double.NaN;
+		private double condicion = Double.NaN;
+		private int iteraciones;
+		private Exception falla;
+
+		Resultado(File archivo) {
+			this.archivo = archivo;
+		}
+
+		public File getArchivo() {
+			return archivo;
+		}
+
+		public long getNanosCarga() {
+			return nanosCarga;
+		}
+
+		public long getNanosResolucion() {
+			return nanosResolucion;
+		}
+
+		public long getNanosEscritura() {
+			return nanosEscritura;
+		}
+
+		/**
+		 * @return Norma del residuo b - A·x, o NaN si no se obtuvo solución
+		 */
+		public double getError() {
+			return error;
+		}
+
+		/**
+		 * @return Número de condición estimado, o NaN si no se resolvió por
+		 *         factorización
+		 */
+		public double getCondicion() {
+			return condicion;
+		}
+
+		public int getIteraciones() {
+			return iteraciones;
+		}
+
+		/**
+		 * @return Excepción que impidió resolver el sistema, o null si se
+		 *         resolvió
+		 */
+		public Exception getFalla() {
+			return falla;
+		}
+	}
+
+	// Constructores ~
+	// -----------------------------------------------------------------
+	/**
+	 * Utiliza un hilo de resolución por procesador disponible
+	 */
+	public EjecutorSEL() {
+		this(Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * @param hilos
+	 *            cantidad de sistemas que se resuelven a la vez
+	 */
+	public EjecutorSEL(int hilos) {
+		if (hilos <= 0)
+			throw new IllegalArgumentException("La cantidad de hilos debe ser positiva");
+		this.hilos = hilos;
+		// Uno en lectura, uno en escritura y uno esperando por cada hilo
+		this.enMemoria = 2 * hilos + 2;
+	}
+
+	// Getters and setters ~
+	// -----------------------------------------------------------------
+	public SEL.Refinamiento getRefinamiento() {
+		return refinamiento;
+	}
+
+	/**
+	 * Elige el refinamiento con el que se resuelve cada sistema (ver
+	 * {@link SEL#setRefinamiento(SEL.Refinamiento)})
+	 */
+	public void setRefinamiento(SEL.Refinamiento refinamiento) {
+		this.refinamiento = refinamiento;
+	}
+
+	// Metodos ~
+	// -----------------------------------------------------------------
+	/**
+	 * Resuelve todos los archivos del directorio, en orden alfabético
+	 *
+	 * @param entrada
+	 *            Directorio con los sistemas
+	 * @param salida
+	 *            Directorio donde se escriben los resultados
+	 * @return Resultado de cada archivo, en el mismo orden
+	 */
+	public List<Resultado> ejecutarDirectorio(File entrada, File salida) throws IOException, InterruptedException {
+		File[] archivos = entrada.listFiles();
+		if (archivos == null)
+			throw new IOException("No se puede leer el directorio " + entrada);
+		Arrays.sort(archivos);
+		List<File> lista = new ArrayList<File>();
+		for (File archivo : archivos)
+			if (archivo.isFile())
+				lista.add(archivo);
+		return ejecutar(lista, salida);
+	}
+
+	/**
+	 * Resuelve los archivos listados en un manifiesto, uno por línea. Las
+	 * rutas relativas se toman desde el directorio del manifiesto y se ignoran
+	 * las líneas vacías y las que comienzan con #
+	 *
+	 * @param manifiesto
+	 *            Archivo con la lista de sistemas
+	 * @param salida
+	 *            Directorio donde se escriben los resultados
+	 * @return Resultado de cada archivo, en el mismo orden
+	 */
+	public List<Resultado> ejecutarManifiesto(File manifiesto, File salida) throws IOException,
+			InterruptedException {
+		List<File> lista = new ArrayList<File>();
+		BufferedReader in = null;
+		try {
+			in = new BufferedReader(new FileReader(manifiesto));
+			String linea;
+			while ((linea = in.readLine()) != null) {
+				linea = linea.trim();
+				if (linea.isEmpty() || linea.startsWith("#"))
+					continue;
+				File archivo = new File(linea);
+				if (!archivo.isAbsolute())
+					archivo = new File(manifiesto.getAbsoluteFile().getParentFile(), linea);
+				lista.add(archivo);
+			}
+		} finally {
+			if (in != null)
+				in.close();
+		}
+		return ejecutar(lista, salida);
+	}
+
+	/**
+	 * Resuelve los archivos indicados. El resultado de cada uno se escribe en
+	 * el directorio de salida con el nombre del archivo sin extension seguido
+	 * de .out. Si dos archivos tienen el mismo nombre sin extensión, por
+	 * ejemplo x.in y el x.bin de {@link ar.edu.unlam.test.ConversorBinario},
+	 * solamente se resuelve el primero y el otro se informa como falla, para
+	 * no sobreescribir su resultado
+	 *
+	 * @param archivos
+	 *            Sistemas a resolver
+	 * @param salida
+	 *            Directorio donde se escriben los resultados
+	 * @return Resultado de cada archivo, en el mismo orden
+	 */
+	public List<Resultado> ejecutar(List<File> archivos, File salida) throws InterruptedException {
+		salida.mkdirs();
+		ExecutorService lectura = Executors.newSingleThreadExecutor();
+		ExecutorService resolucion = Executors.newFixedThreadPool(hilos);
+		ExecutorService escritura = Executors.newSingleThreadExecutor();
+		Semaphore lugares = new Semaphore(enMemoria);
+
+		// Asigno los nombres de salida antes de comenzar, para detectar los
+		// archivos que escribirian el mismo resultado
+		List<Resultado> resultados = new ArrayList<Resultado>();
+		List<File> destinos = new ArrayList<File>();
+		Map<String, File> usados = new HashMap<String, File>();
+		for (File archivo : archivos) {
+			Resultado resultado = new Resultado(archivo);
+			resultados.add(resultado);
+			String nombre = archivo.getName().split("\\.")[0] + EXTENSION_SALIDA;
+			File anterior = usados.get(nombre);
+			if (anterior != null) {
+				resultado.falla = new IOException("El resultado " + nombre + " ya corresponde a "
+						+ anterior.getName());
+				destinos.add(null);
+			} else {
+				usados.put(nombre, archivo);
+				destinos.add(new File(salida, nombre));
+			}
+		}
+		CountDownLatch pendientes = new CountDownLatch(usados.size());
+
+		try {
+			for (int i = 0; i < resultados.size(); i++) {
+				if (destinos.get(i) == null)
+					continue;
+				Trabajo trabajo = new Trabajo(resultados.get(i), destinos.get(i), refinamiento, lectura, resolucion,
+						escritura, lugares, pendientes);
+				// Espero a que haya lugar antes de leer otro sistema
+				lugares.acquire();
+				lectura.execute(trabajo);
+			}
+			pendientes.await();
+		} finally {
+			lectura.shutdownNow();
+			resolucion.shutdownNow();
+			escritura.shutdownNow();
+		}
+		return resultados;
+	}
+
+	/**
+	 * Muestra una línea por archivo con los tiempos de cada etapa, el error, el
+	 * número de condición y el motivo de las fallas, y al final los totales
+	 */
+	public static void imprimirResumen(List<Resultado> resultados, PrintStream out) {
+		out.println(String.format("%-32s %10s %13s %12s %12s %12s  %s", "archivo", "carga ms", "resolucion ms",
+				"escritura ms", "error", "condicion", "estado"));
+		long carga = 0, resolucion = 0, escritura = 0;
+		int fallas = 0;
+		for (Resultado r : resultados) {
+			carga += r.nanosCarga;
+			resolucion += r.nanosResolucion;
+			escritura += r.nanosEscritura;
+			String estado = "ok";
+			if (r.falla != null) {
+				fallas++;
+				Throwable causa = r.falla.getCause() != null ? r.falla.getCause() : r.falla;
+				estado = "falla: " + causa.getMessage();
+			} else if (r.iteraciones > 0) {
+				estado = "ok (" + r.iteraciones + " iteraciones)";
+			}
+			out.println(String.format("%-32s %10.3f %13.3f %12.3f %12.4e %12.4e  %s", r.archivo.getName(),
+					r.nanosCarga / 1e6, r.nanosResolucion / 1e6, r.nanosEscritura / 1e6, r.error, r.condicion,
+					estado));
+		}
+		out.println(String.format("%-32s %10.3f %13.3f %12.3f  %d de %d resueltos", "total", carga / 1e6,
+				resolucion / 1e6, escritura / 1e6, resultados.size() - fallas, resultados.size()));
+	}
+
+	/**
+	 * Procesamiento de un archivo. Cada etapa, al terminar, encola la
+	 * siguiente en el ejecutor que le corresponde
+	 */
+	private static class Trabajo implements Runnable {
+		private static final int LECTURA = 0, RESOLUCION = 1, ESCRITURA = 2;
+
+		private final Resultado resultado;
+		private final File destino;
+		private final SEL.Refinamiento refinamiento;
+		private final ExecutorService lectura, resolucion, escritura;
+		private final Semaphore lugares;
+		private final CountDownLatch pendientes;
+		private SEL sel;
+		private int etapa = LECTURA;
+
+		Trabajo(Resultado resultado, File destino, SEL.Refinamiento refinamiento, ExecutorService lectura,
+				ExecutorService resolucion, ExecutorService escritura, Semaphore lugares, CountDownLatch pendientes) {
+			this.resultado = resultado;
+			this.destino = destino;
+			this.refinamiento = refinamiento;
+			this.lectura = lectura;
+			this.resolucion = resolucion;
+			this.escritura = escritura;
+			this.lugares = lugares;
+			this.pendientes = pendientes;
+		}
+
+		@Override
+		public void run() {
+			long inicio = System.nanoTime();
+			try {
+				switch (etapa) {
+				case LECTURA:
+					sel = new SEL(resultado.archivo.getPath());
+					sel.setRefinamiento(refinamiento);
+					resultado.nanosCarga = System.nanoTime() - inicio;
+					etapa = RESOLUCION;
+					resolucion.execute(this);
+					return;
+
+				case RESOLUCION:
+					try {
+						sel.resolver();
+						resultado.error = sel.getError();
+					} catch (Exception e) {
+						// El resultado igualmente se escribe, indicando que no
+						// tiene solución
+						resultado.falla = e;
+					}
+					resultado.iteraciones = sel.getIteraciones();
+					resultado.nanosResolucion = System.nanoTime() - inicio;
+					// Fuera del tiempo de resolucion, que no la incluye
+					resultado.condicion = sel.getCondicion();
+					etapa = ESCRITURA;
+					escritura.execute(this);
+					return;
+
+				default:
+					sel.toFile(destino.getPath());
+					resultado.nanosEscritura = System.nanoTime() - inicio;
+					terminar();
+				}
+			} catch (Exception e) {
+				resultado.falla = e;
+				terminar();
+			} catch (Error e) {
+				// Por ejemplo OutOfMemoryError con un sistema demasiado grande
+				resultado.falla = new RuntimeException(e);
+				terminar();
+				throw e;
+			}
+		}
+
+		private void terminar() {
+			sel = null;
+			lugares.release();
+			pendientes.countDown();
+		}
+	}
+
+	/**
+	 * Uso: EjecutorSEL [directorio o manifiesto de entrada] [directorio de
+	 * salida] [hilos] [refinamiento: ninguno, doble o simple]
+	 */
+	public static void main(String[] args) {
+		File entrada = new File(args.length > 0 ? args[0] : "test/input");
+		File salida = new File(args.length > 1 ? args[1] : "test/output real");
+		EjecutorSEL ejecutor = args.length > 2 ? new EjecutorSEL(Integer.parseInt(args[2])) : new EjecutorSEL();
+		if (args.length > 3)
+			ejecutor.setRefinamiento(SEL.Refinamiento.valueOf(args[3].toUpperCase()));
+		try {
+			long inicio = System.nanoTime();
+			List<Resultado> resultados = entrada.isDirectory() ? ejecutor.ejecutarDirectorio(entrada, salida)
+					: ejecutor.ejecutarManifiesto(entrada, salida);
+			long fin = System.nanoTime();
+			imprimirResumen(resultados, System.out);
+			System.out.println(String.format("tiempo total: %.3f ms", (fin - inicio) / 1e6));
+		} catch (Exception e) {
+			e.printStackTrace();
+		}
+	}
+}
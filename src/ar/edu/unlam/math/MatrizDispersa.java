@@ -0,0 +1,424 @@
+package ar.edu.unlam.math;
+
+import java.util.Arrays;
+
+import ar.edu.unlam.math.exception.MatrizOperationException;
+
+/**
+ * Matriz dispersa almacenada por filas comprimidas (CSR). Solamente se guardan
+ * los valores distintos de cero junto con su columna, y para cada fila la
+ * posición donde comienzan sus valores, por lo que la memoria utilizada es
+ * proporcional a la cantidad de valores no nulos y no a n².
+ *
+ * @author yoni
+ *
+ */
+public class MatrizDispersa implements OperadorLineal {
+	// Atributos ~
+	// -----------------------------------------------------------------
+	/**
+	 * Almacena el tamaño de la matriz, siendo el primer elemento el numero de
+	 * filas y el segundo el numero de columnas
+	 */
+	private int[] size;
+	/**
+	 * Los valores de la fila i ocupan las posiciones [inicioFilas[i],
+	 * inicioFilas[i + 1]) de columnas y valores
+	 */
+	private int[] inicioFilas;
+	/**
+	 * Columna de cada valor no nulo, en orden creciente dentro de cada fila
+	 */
+	private int[] columnas;
+	/**
+	 * Valores no nulos
+	 */
+	private double[] valores;
+
+	// Constructores ~
+	// -----------------------------------------------------------------
+	/**
+	 * Construye una matriz a partir de sus arreglos CSR, sin copiarlos
+	 *
+	 * @param filas
+	 *            numero de filas
+	 * @param cantidadColumnas
+	 *            numero de columnas
+	 * @param inicioFilas
+	 *            posicion donde comienza cada fila, con filas + 1 elementos
+	 * @param columnas
+	 *            columna de cada valor, ordenadas dentro de cada fila
+	 * @param valores
+	 *            valores no nulos
+	 */
+	public MatrizDispersa(int filas, int cantidadColumnas, int[] inicioFilas, int[] columnas, double[] valores) {
+		if (inicioFilas.length != filas + 1 || columnas.length != valores.length
+				|| inicioFilas[filas] != valores.length)
+			throw new IllegalArgumentException("Los arreglos no describen una matriz dispersa valida");
+		this.size = new int[] { filas, cantidadColumnas };
+		this.inicioFilas = inicioFilas;
+		this.columnas = columnas;
+		this.valores = valores;
+	}
+
+	/**
+	 * Construye la matriz dispersa con los valores no nulos de una matriz densa
+	 *
+	 * @param m
+	 *            Matriz densa
+	 */
+	public MatrizDispersa(MatrizMath m) {
+		int filas = m.getDimension()[0];
+		int cantidadColumnas = m.getDimension()[1];
+		double[] densa = m.getValores();
+
+		int noNulos = 0;
+		for (double valor : densa)
+			if (valor != 0)
+				noNulos++;
+
+		this.size = new int[] { filas, cantidadColumnas };
+		this.inicioFilas = new int[filas + 1];
+		this.columnas = new int[noNulos];
+		this.valores = new double[noNulos];
+
+		int pos = 0;
+		for (int i = 0; i < filas; i++) {
+			inicioFilas[i] = pos;
+			for (int j = 0; j < cantidadColumnas; j++) {
+				double valor = densa[i * cantidadColumnas + j];
+				if (valor != 0) {
+					columnas[pos] = j;
+					valores[pos] = valor;
+					pos++;
+				}
+			}
+		}
+		inicioFilas[filas] = pos;
+	}
+
+	/**
+	 * Construye una matriz dispersa a partir de ternas (fila, columna, valor)
+	 * en cualquier orden. Los valores repetidos en la misma posición se suman.
+	 *
+	 * @param filas
+	 *            numero de filas
+	 * @param cantidadColumnas
+	 *            numero de columnas
+	 * @param fila
+	 *            fila de cada valor
+	 * @param columna
+	 *            columna de cada valor
+	 * @param valor
+	 *            valores
+	 * @return Matriz dispersa
+	 */
+	public static MatrizDispersa desdeTernas(int filas, int cantidadColumnas, int[] fila, int[] columna,
+			double[] valor) {
+		int cantidad = valor.length;
+		if (fila.length != cantidad || columna.length != cantidad)
+			throw new IllegalArgumentException("Los arreglos de ternas deben tener la misma longitud");
+
+		// Cuento los valores de cada fila y los distribuyo en su fila
+		int[] inicio = new int[filas + 1];
+		for (int k = 0; k < cantidad; k++) {
+			if (fila[k] < 0 || fila[k] >= filas || columna[k] < 0 || columna[k] >= cantidadColumnas)
+				throw new IndexOutOfBoundsException("La terna " + k + " esta fuera de la matriz");
+			inicio[fila[k] + 1]++;
+		}
+		for (int i = 0; i < filas; i++)
+			inicio[i + 1] += inicio[i];
+
+		int[] siguiente = Arrays.copyOf(inicio, filas);
+		int[] cols = new int[cantidad];
+		double[] vals = new double[cantidad];
+		for (int k = 0; k < cantidad; k++) {
+			int pos = siguiente[fila[k]]++;
+			cols[pos] = columna[k];
+			vals[pos] = valor[k];
+		}
+
+		// Ordeno cada fila por columna y sumo las posiciones repetidas
+		int[] inicioFilas = new int[filas + 1];
+		int pos = 0;
+		for (int i = 0; i < filas; i++) {
+			inicioFilas[i] = pos;
+			int desde = inicio[i];
+			int hasta = inicio[i + 1];
+			ordenarPorColumna(cols, vals, desde, hasta);
+			for (int k = desde; k < hasta; k++) {
+				if (pos > inicioFilas[i] && cols[pos - 1] == cols[k]) {
+					vals[pos - 1] += vals[k];
+				} else {
+					cols[pos] = cols[k];
+					vals[pos] = vals[k];
+					pos++;
+				}
+			}
+		}
+		inicioFilas[filas] = pos;
+
+		return new MatrizDispersa(filas, cantidadColumnas, inicioFilas, Arrays.copyOf(cols, pos),
+				Arrays.copyOf(vals, pos));
+	}
+
+	/**
+	 * Ordena por inserción las columnas [desde, hasta) junto con sus valores;
+	 * las filas de una matriz dispersa suelen ser cortas
+	 */
+	private static void ordenarPorColumna(int[] cols, double[] vals, int desde, int hasta) {
+		for (int k = desde + 1; k < hasta; k++) {
+			int columna = cols[k];
+			double valor = vals[k];
+			int p = k - 1;
+			while (p >= desde && cols[p] > columna) {
+				cols[p + 1] = cols[p];
+				vals[p + 1] = vals[p];
+				p--;
+			}
+			cols[p + 1] = columna;
+			vals[p + 1] = valor;
+		}
+	}
+
+	// Getters and setters ~
+	// -----------------------------------------------------------------
+	@Override
+	public int[] getDimension() {
+		return size;
+	}
+
+	/**
+	 * Devuelve la cantidad de valores almacenados
+	 *
+	 * @return cantidad de valores no nulos
+	 */
+	public int getCantidadNoNulos() {
+		return valores.length;
+	}
+
+	public int[] getInicioFilas() {
+		return inicioFilas;
+	}
+
+	public int[] getColumnas() {
+		return columnas;
+	}
+
+	public double[] getValores() {
+		return valores;
+	}
+
+	/**
+	 * Devuelve el valor ubicado en las posiciones indicadas por i y j
+	 *
+	 * @param i
+	 *            numero de fila
+	 * @param j
+	 *            numero de columna
+	 * @return valor almacenado en (i,j), o cero si no esta almacenado
+	 */
+	@Override
+	public double get(int i, int j) {
+		int pos = Arrays.binarySearch(columnas, inicioFilas[i], inicioFilas[i + 1], j);
+		return pos >= 0 ? valores[pos] : 0;
+	}
+
+	// Metodos ~
+	// -----------------------------------------------------------------
+	/**
+	 * Obtiene la matriz densa equivalente
+	 *
+	 * @return Matriz densa con los mismos valores
+	 */
+	public MatrizMath toMatrizMath() {
+		int cantidadColumnas = size[1];
+		double[] densa = new double[size[0] * cantidadColumnas];
+		for (int i = 0; i < size[0]; i++)
+			for (int k = inicioFilas[i]; k < inicioFilas[i + 1]; k++)
+				densa[i * cantidadColumnas + columnas[k]] = valores[k];
+		return new MatrizMath(size[0], cantidadColumnas, densa);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < size[0]; i++)
+			for (int k = inicioFilas[i]; k < inicioFilas[i + 1]; k++)
+				sb.append("(" + i + ", " + columnas[k] + ") = " + valores[k] + "\n");
+		return sb.toString();
+	}
+
+	@Override
+	public int hashCode() {
+		final int prime = 31;
+		int result = 1;
+		result = prime * result + Arrays.hashCode(columnas);
+		result = prime * result + Arrays.hashCode(inicioFilas);
+		result = prime * result + Arrays.hashCode(size);
+		result = prime * result + Arrays.hashCode(valores);
+		return result;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		MatrizDispersa other = (MatrizDispersa) obj;
+		if (!Arrays.equals(size, other.size))
+			return false;
+		if (!Arrays.equals(inicioFilas, other.inicioFilas))
+			return false;
+		if (!Arrays.equals(columnas, other.columnas))
+			return false;
+		if (!Arrays.equals(valores, other.valores))
+			return false;
+		return true;
+	}
+
+	/**
+	 * Obtiene el vector producto de multiplicar por el vector v, recorriendo
+	 * solamente los valores no nulos
+	 *
+	 * @param v
+	 *            Vector a multiplicar
+	 * @return Vector resultado del producto
+	 * @throws MatrizOperationException
+	 *             Para multiplicar el numero de columnas de la matriz debe
+	 *             coincidir con la dimension del vector
+	 */
+	@Override
+	public VectorMath multiplicar(VectorMath v) throws MatrizOperationException {
+		if (size[1] != v.getDimension())
+			throw new MatrizOperationException(
+					"Para multiplicar el numero de columnas de la matriz debe coincidir con la dimension del vector");
+
+		VectorMath resultado = VectorMath.ceros(size[0]);
+		multiplicar(v, resultado);
+		return resultado;
+	}
+
+	@Override
+	public void multiplicar(VectorMath v, VectorMath destino) throws MatrizOperationException {
+		if (size[1] != v.getDimension() || size[0] != destino.getDimension())
+			throw new MatrizOperationException(
+					"Para multiplicar el numero de columnas de la matriz debe coincidir con la dimension del vector");
+
+		double[] resultado = destino.getValores();
+		for (int i = 0; i < size[0]; i++)
+			resultado[i] = productoFila(i, v);
+	}
+
+	@Override
+	public double normaResiduo(VectorMath x, VectorMath b) throws MatrizOperationException {
+		if (size[1] != x.getDimension() || size[0] != b.getDimension())
+			throw new MatrizOperationException(
+					"Para calcular el residuo las dimensiones de la matriz deben coincidir con las de los vectores");
+
+		double[] vector = b.getValores();
+		double suma = 0;
+		for (int i = 0; i < size[0]; i++) {
+			double r = vector[i] - productoFila(i, x);
+			suma += r * r;
+		}
+		return Math.sqrt(suma);
+	}
+
+	/**
+	 * Acumula la suma de cada columna recorriendo solamente los valores no
+	 * nulos
+	 */
+	@Override
+	public double normaUno() {
+		double[] sumas = new double[size[1]];
+		for (int k = 0; k < inicioFilas[size[0]]; k++)
+			sumas[columnas[k]] += Math.abs(valores[k]);
+		double maximo = 0;
+		for (double suma : sumas)
+			if (suma > maximo)
+				maximo = suma;
+		return maximo;
+	}
+
+	@Override
+	public double productoFila(int i, VectorMath v) {
+		double[] vector = v.getValores();
+		double suma = 0;
+		for (int k = inicioFilas[i]; k < inicioFilas[i + 1]; k++)
+			suma += valores[k] * vector[columnas[k]];
+		return suma;
+	}
+
+	/**
+	 * Obtiene la suma de la matriz por la matriz m2, combinando las filas de
+	 * ambas
+	 *
+	 * @param m2
+	 *            Matriz a sumar
+	 * @return Resultado de la suma de matrices
+	 * @throws MatrizOperationException
+	 *             Para sumarse las matrices deben ser del mismo tamaño
+	 */
+	public MatrizDispersa sumar(MatrizDispersa m2) throws MatrizOperationException {
+		int size2[] = m2.getDimension();
+		if (this.size[0] != size2[0] || this.size[1] != size2[1])
+			throw new MatrizOperationException("Para sumar el tamaño de las matrices debe ser igual");
+
+		int filas = size[0];
+		int[] inicio2 = m2.inicioFilas;
+		int[] columnas2 = m2.columnas;
+		double[] valores2 = m2.valores;
+
+		int[] inicioResultado = new int[filas + 1];
+		int[] columnasResultado = new int[valores.length + valores2.length];
+		double[] valoresResultado = new double[valores.length + valores2.length];
+
+		int pos = 0;
+		for (int i = 0; i < filas; i++) {
+			inicioResultado[i] = pos;
+			int a = inicioFilas[i], finA = inicioFilas[i + 1];
+			int b = inicio2[i], finB = inicio2[i + 1];
+			while (a < finA || b < finB) {
+				int columna;
+				double valor;
+				if (b >= finB || (a < finA && columnas[a] < columnas2[b])) {
+					columna = columnas[a];
+					valor = valores[a++];
+				} else if (a >= finA || columnas2[b] < columnas[a]) {
+					columna = columnas2[b];
+					valor = valores2[b++];
+				} else {
+					columna = columnas[a];
+					valor = valores[a++] + valores2[b++];
+				}
+				if (valor != 0) {
+					columnasResultado[pos] = columna;
+					valoresResultado[pos] = valor;
+					pos++;
+				}
+			}
+		}
+		inicioResultado[filas] = pos;
+
+		return new MatrizDispersa(filas, size[1], inicioResultado, Arrays.copyOf(columnasResultado, pos),
+				Arrays.copyOf(valoresResultado, pos));
+	}
+
+	/***
+	 * Obtiene la matriz producto de multiplicar por un escalar
+	 *
+	 * @param n
+	 *            Escalar a multiplicar
+	 * @return Resultado del producto
+	 */
+	public MatrizDispersa producto(double n) {
+		double[] resultado = new double[valores.length];
+		for (int k = 0; k < valores.length; k++)
+			resultado[k] = valores[k] * n;
+		return new MatrizDispersa(size[0], size[1], inicioFilas, columnas, resultado);
+	}
+}
@@ -0,0 +1,630 @@
+package ar.edu.unlam.math;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import ar.edu.unlam.math.exception.MatrizOperationException;
+import ar.edu.unlam.math.factorizacion.FactorizacionLUEnDisco;
+import ar.edu.unlam.math.io.FormatoBinario;
+import ar.edu.unlam.math.multiplicador.MultiplicadorBloques;
+
+/**
+ * Matriz almacenada en disco, para sistemas que no entran en memoria. Los
+ * valores se dividen en bloques cuadrados de b×b que se guardan uno a
+ * continuación del otro en un archivo mapeado en memoria; en el heap solamente
+ * se mantienen los últimos bloques utilizados, y los que fueron modificados se
+ * vuelven a escribir en el archivo al desalojarlos.
+ *
+ * Las operaciones recorren la matriz bloque por bloque, de modo que el costo de
+ * entrada/salida es predecible: el producto por un vector lee cada bloque una
+ * vez y la factorización L·U lee y escribe O((n/b)³) bloques.
+ *
+ * Esta clase no es segura para usar desde varios hilos a la vez.
+ *
+ * @author yoni
+ *
+ */
+public class MatrizEnDisco implements OperadorLineal, Closeable {
+	public static final int BLOQUE_POR_DEFECTO = 256;
+	public static final int BLOQUES_EN_MEMORIA_POR_DEFECTO = 64;
+	/**
+	 * Las operaciones necesitan hasta tres bloques a la vez
+	 */
+	private static final int MINIMO_BLOQUES_EN_MEMORIA = 4;
+	/**
+	 * Tamaño máximo de cada región mapeada del archivo
+	 */
+	private static final long TAMANIO_REGION = 1L << 30;
+
+	// Atributos ~
+	// -----------------------------------------------------------------
+	private final int[] size;
+	/**
+	 * Lado de cada bloque
+	 */
+	private final int bloque;
+	/**
+	 * Cantidad de bloques por columna y por fila de la matriz
+	 */
+	private final int bloquesVerticales, bloquesHorizontales;
+	private final String ruta;
+	private final RandomAccessFile archivo;
+	/**
+	 * Vistas de las regiones mapeadas del archivo, cada una con
+	 * bloquesPorRegion bloques completos
+	 */
+	private final DoubleBuffer[] regiones;
+	private final int bloquesPorRegion;
+	/**
+	 * Bloques en memoria, del menos al más recientemente utilizado
+	 */
+	private final Map<Integer, Bloque> residentes;
+	private final int bloquesEnMemoria;
+
+	/**
+	 * Copia en memoria de un bloque del archivo
+	 */
+	private static class Bloque {
+		final int indice;
+		final double[] valores;
+		boolean modificado;
+
+		Bloque(int indice, double[] valores) {
+			this.indice = indice;
+			this.valores = valores;
+		}
+	}
+
+	// Constructores ~
+	// -----------------------------------------------------------------
+	/**
+	 * Crea una matriz de ceros respaldada por el archivo indicado, que se
+	 * sobreescribe
+	 *
+	 * @param archivo
+	 *            Ubicacion del archivo de bloques
+	 * @param filas
+	 *            numero de filas
+	 * @param columnas
+	 *            numero de columnas
+	 */
+	public MatrizEnDisco(String archivo, int filas, int columnas) throws IOException {
+		this(archivo, filas, columnas, BLOQUE_POR_DEFECTO, BLOQUES_EN_MEMORIA_POR_DEFECTO);
+	}
+
+	/**
+	 * Crea una matriz de ceros respaldada por el archivo indicado, que se
+	 * sobreescribe
+	 *
+	 * @param archivo
+	 *            Ubicacion del archivo de bloques
+	 * @param filas
+	 *            numero de filas
+	 * @param columnas
+	 *            numero de columnas
+	 * @param bloque
+	 *            lado de cada bloque
+	 * @param bloquesEnMemoria
+	 *            cantidad máxima de bloques que se mantienen en el heap
+	 */
+	public MatrizEnDisco(String archivo, int filas, int columnas, int bloque, int bloquesEnMemoria)
+			throws IOException {
+		if (filas <= 0 || columnas <= 0 || bloque <= 0 || (long) bloque * bloque * 8 > TAMANIO_REGION)
+			throw new IllegalArgumentException("Dimensiones de la matriz o del bloque invalidas");
+		if (bloquesEnMemoria < MINIMO_BLOQUES_EN_MEMORIA)
+			throw new IllegalArgumentException("Se requieren al menos " + MINIMO_BLOQUES_EN_MEMORIA
+					+ " bloques en memoria");
+
+		this.size = new int[] { filas, columnas };
+		this.bloque = bloque;
+		this.bloquesEnMemoria = bloquesEnMemoria;
+		this.ruta = archivo;
+		this.bloquesVerticales = (filas + bloque - 1) / bloque;
+		this.bloquesHorizontales = (columnas + bloque - 1) / bloque;
+
+		// Reservo el archivo completo, con los bloques de los bordes también de
+		// b×b, y lo mapeo por regiones
+		long valoresPorBloque = (long) bloque * bloque;
+		long cantidadBloques = (long) bloquesVerticales * bloquesHorizontales;
+		this.bloquesPorRegion = (int) (TAMANIO_REGION / (valoresPorBloque * 8));
+		this.archivo = new RandomAccessFile(archivo, "rw");
+		try {
+			this.archivo.setLength(0);
+			this.archivo.setLength(cantidadBloques * valoresPorBloque * 8);
+			FileChannel canal = this.archivo.getChannel();
+			int cantidadRegiones = (int) ((cantidadBloques + bloquesPorRegion - 1) / bloquesPorRegion);
+			this.regiones = new DoubleBuffer[cantidadRegiones];
+			for (int r = 0; r < cantidadRegiones; r++) {
+				long primero = (long) r * bloquesPorRegion;
+				long bloquesEnRegion = Math.min(bloquesPorRegion, cantidadBloques - primero);
+				regiones[r] = canal.map(MapMode.READ_WRITE, primero * valoresPorBloque * 8,
+						bloquesEnRegion * valoresPorBloque * 8).order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer();
+			}
+		} catch (IOException e) {
+			this.archivo.close();
+			throw e;
+		}
+
+		final int capacidad = bloquesEnMemoria;
+		this.residentes = new LinkedHashMap<Integer, Bloque>(capacidad * 4 / 3 + 1, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Integer, Bloque> masAntiguo) {
+				if (size() <= capacidad)
+					return false;
+				escribir(masAntiguo.getValue());
+				return true;
+			}
+		};
+	}
+
+	/**
+	 * Copia una matriz en memoria a disco
+	 *
+	 * @param m
+	 *            Matriz a copiar
+	 * @param archivo
+	 *            Ubicacion del archivo de bloques
+	 */
+	public static MatrizEnDisco desdeMatriz(MatrizMath m, String archivo, int bloque, int bloquesEnMemoria)
+			throws IOException {
+		int[] dimension = m.getDimension();
+		MatrizEnDisco r = new MatrizEnDisco(archivo, dimension[0], dimension[1], bloque, bloquesEnMemoria);
+		double[] valores = m.getValores();
+		for (int bi = 0; bi < r.bloquesVerticales; bi++)
+			r.setFranja(bi, valores, bi * bloque * dimension[1]);
+		return r;
+	}
+
+	/**
+	 * Copia la matriz de un archivo en el formato de {@link FormatoBinario} a
+	 * disco sin cargarla completa en memoria: se lee una franja de b filas a la
+	 * vez, por lo que se utilizan b·columnas valores de memoria auxiliar
+	 *
+	 * @param binario
+	 *            Archivo de matriz o de sistema en formato binario
+	 * @param archivo
+	 *            Ubicacion del archivo de bloques
+	 */
+	public static MatrizEnDisco desdeBinario(String binario, String archivo, int bloque, int bloquesEnMemoria)
+			throws IOException {
+		RandomAccessFile f = null;
+		try {
+			f = new RandomAccessFile(binario, "r");
+			FileChannel canal = f.getChannel();
+			FormatoBinario.Encabezado encabezado = FormatoBinario.leerEncabezado(canal);
+			if (encabezado.getTipo() != FormatoBinario.TIPO_MATRIZ
+					&& encabezado.getTipo() != FormatoBinario.TIPO_SISTEMA)
+				throw new IOException("El archivo no contiene una matriz");
+
+			int filas = encabezado.getFilas();
+			int columnas = encabezado.getColumnas();
+			MatrizEnDisco r = new MatrizEnDisco(archivo, filas, columnas, bloque, bloquesEnMemoria);
+			try {
+				double[] franja = new double[bloque * columnas];
+				for (int bi = 0; bi < r.bloquesVerticales; bi++) {
+					int primera = bi * bloque;
+					int cantidad = Math.min(bloque, filas - primera) * columnas;
+					FormatoBinario.leerValores(canal, FormatoBinario.TAMANIO_ENCABEZADO + 8L * primera * columnas,
+							franja, 0, cantidad);
+					r.setFranja(bi, franja, 0);
+				}
+			} catch (IOException e) {
+				// No dejo el archivo de bloques a medio copiar
+				r.archivo.close();
+				new File(archivo).delete();
+				throw e;
+			}
+			return r;
+		} finally {
+			if (f != null)
+				f.close();
+		}
+	}
+
+	/**
+	 * Copia la matriz a otro archivo de bloques, con el mismo tamaño de bloque
+	 *
+	 * @param archivo
+	 *            Ubicacion del nuevo archivo de bloques
+	 * @return Copia de la matriz
+	 */
+	public MatrizEnDisco copiar(String archivo) throws IOException {
+		sincronizar();
+		MatrizEnDisco r = new MatrizEnDisco(archivo, size[0], size[1], bloque, bloquesEnMemoria);
+		for (int i = 0; i < regiones.length; i++) {
+			DoubleBuffer origen = regiones[i].duplicate();
+			origen.position(0);
+			r.regiones[i].position(0);
+			r.regiones[i].put(origen);
+		}
+		return r;
+	}
+
+	// Getters and setters ~
+	// -----------------------------------------------------------------
+	/**
+	 * @return Ubicacion del archivo de bloques
+	 */
+	public String getArchivo() {
+		return ruta;
+	}
+
+	@Override
+	public int[] getDimension() {
+		return new int[] { size[0], size[1] };
+	}
+
+	public int getTamanioBloque() {
+		return bloque;
+	}
+
+	/**
+	 * @return Cantidad de bloques en cada columna de la matriz
+	 */
+	public int getBloquesVerticales() {
+		return bloquesVerticales;
+	}
+
+	/**
+	 * @return Cantidad de bloques en cada fila de la matriz
+	 */
+	public int getBloquesHorizontales() {
+		return bloquesHorizontales;
+	}
+
+	@Override
+	public double get(int i, int j) {
+		return getBloque(i / bloque, j / bloque, false)[(i % bloque) * bloque + j % bloque];
+	}
+
+	public void set(int i, int j, double valor) {
+		getBloque(i / bloque, j / bloque, true)[(i % bloque) * bloque + j % bloque] = valor;
+	}
+
+	/**
+	 * Devuelve los valores del bloque (bi, bj), ordenados por filas de largo b.
+	 * El arreglo es válido hasta que se accede a otros bloques, ya que puede ser
+	 * desalojado de la memoria.
+	 *
+	 * @param bi
+	 *            fila del bloque
+	 * @param bj
+	 *            columna del bloque
+	 * @param modificar
+	 *            true si el bloque se va a modificar y debe volver a escribirse
+	 *            en el archivo
+	 * @return Valores del bloque
+	 */
+	public double[] getBloque(int bi, int bj, boolean modificar) {
+		int indice = bi * bloquesHorizontales + bj;
+		Bloque b = residentes.get(indice);
+		if (b == null) {
+			b = leer(indice);
+			residentes.put(indice, b);
+		}
+		if (modificar)
+			b.modificado = true;
+		return b.valores;
+	}
+
+	// Metodos ~
+	// -----------------------------------------------------------------
+	private Bloque leer(int indice) {
+		double[] valores = new double[bloque * bloque];
+		DoubleBuffer region = regiones[indice / bloquesPorRegion];
+		region.position((indice % bloquesPorRegion) * bloque * bloque);
+		region.get(valores);
+		return new Bloque(indice, valores);
+	}
+
+	private void escribir(Bloque b) {
+		if (!b.modificado)
+			return;
+		DoubleBuffer region = regiones[b.indice / bloquesPorRegion];
+		region.position((b.indice % bloquesPorRegion) * bloque * bloque);
+		region.put(b.valores);
+		b.modificado = false;
+	}
+
+	/**
+	 * Copia las filas de la franja de bloques bi, tomadas de origen a partir de
+	 * desde y ordenadas por filas completas. Cada bloque se carga una sola vez
+	 */
+	private void setFranja(int bi, double[] origen, int desde) {
+		int filas = Math.min(bloque, size[0] - bi * bloque);
+		for (int bj = 0; bj < bloquesHorizontales; bj++) {
+			double[] b = getBloque(bi, bj, true);
+			int columna = bj * bloque;
+			int columnas = Math.min(bloque, size[1] - columna);
+			for (int i = 0; i < filas; i++)
+				System.arraycopy(origen, desde + i * size[1] + columna, b, i * bloque, columnas);
+		}
+	}
+
+	/**
+	 * Intercambia las filas f1 y f2 en las columnas de bloque [desde, hasta)
+	 */
+	public void intercambiarFilas(int f1, int f2, int desde, int hasta) {
+		int inicio1 = (f1 % bloque) * bloque;
+		int inicio2 = (f2 % bloque) * bloque;
+		for (int bj = desde; bj < hasta; bj++) {
+			double[] b1 = getBloque(f1 / bloque, bj, true);
+			double[] b2 = getBloque(f2 / bloque, bj, true);
+			for (int j = 0; j < bloque; j++) {
+				double aux = b1[inicio1 + j];
+				b1[inicio1 + j] = b2[inicio2 + j];
+				b2[inicio2 + j] = aux;
+			}
+		}
+	}
+
+	/**
+	 * Escribe en el archivo todos los bloques modificados
+	 */
+	public void sincronizar() {
+		for (Bloque b : residentes.values())
+			escribir(b);
+	}
+
+	@Override
+	public void close() throws IOException {
+		sincronizar();
+		residentes.clear();
+		archivo.close();
+	}
+
+	/**
+	 * Copia la matriz a memoria
+	 */
+	public MatrizMath toMatrizMath() {
+		double[] valores = new double[size[0] * size[1]];
+		for (int bi = 0; bi < bloquesVerticales; bi++)
+			for (int bj = 0; bj < bloquesHorizontales; bj++) {
+				double[] b = getBloque(bi, bj, false);
+				int filas = Math.min(bloque, size[0] - bi * bloque);
+				int columnas = Math.min(bloque, size[1] - bj * bloque);
+				for (int i = 0; i < filas; i++)
+					System.arraycopy(b, i * bloque, valores, (bi * bloque + i) * size[1] + bj * bloque, columnas);
+			}
+		return new MatrizMath(size[0], size[1], valores);
+	}
+
+	@Override
+	public double productoFila(int i, VectorMath v) {
+		double[] x = v.getValores();
+		int bi = i / bloque;
+		int inicio = (i % bloque) * bloque;
+		double suma = 0;
+		for (int bj = 0; bj < bloquesHorizontales; bj++) {
+			double[] b = getBloque(bi, bj, false);
+			int columna = bj * bloque;
+			int columnas = Math.min(bloque, size[1] - columna);
+			for (int j = 0; j < columnas; j++)
+				suma += b[inicio + j] * x[columna + j];
+		}
+		return suma;
+	}
+
+	/**
+	 * Calcula A·v recorriendo cada bloque una sola vez
+	 */
+	@Override
+	public VectorMath multiplicar(VectorMath v) throws MatrizOperationException {
+		VectorMath resultado = VectorMath.ceros(size[0]);
+		multiplicar(v, resultado);
+		return resultado;
+	}
+
+	@Override
+	public void multiplicar(VectorMath v, VectorMath destino) throws MatrizOperationException {
+		if (v.getDimension() != size[1] || destino.getDimension() != size[0])
+			throw new MatrizOperationException(
+					"Para multiplicar la dimension del vector debe coincidir con el numero de columnas de la matriz");
+		double[] x = v.getValores();
+		double[] resultado = destino.getValores();
+		Arrays.fill(resultado, 0);
+		for (int bi = 0; bi < bloquesVerticales; bi++) {
+			int fila = bi * bloque;
+			int filas = Math.min(bloque, size[0] - fila);
+			for (int bj = 0; bj < bloquesHorizontales; bj++) {
+				double[] b = getBloque(bi, bj, false);
+				int columna = bj * bloque;
+				int columnas = Math.min(bloque, size[1] - columna);
+				for (int i = 0; i < filas; i++) {
+					int inicio = i * bloque;
+					double suma = 0;
+					for (int j = 0; j < columnas; j++)
+						suma += b[inicio + j] * x[columna + j];
+					resultado[fila + i] += suma;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Calcula ||b - A·x||. Recorrer la matriz fila por fila obligaría a leer
+	 * cada franja de bloques una vez por fila, por lo que el producto se
+	 * calcula por bloques en un vector auxiliar, despreciable frente a la
+	 * matriz
+	 */
+	@Override
+	public double normaResiduo(VectorMath x, VectorMath b) throws MatrizOperationException {
+		if (b.getDimension() != size[0])
+			throw new MatrizOperationException(
+					"Para calcular el residuo las dimensiones de la matriz deben coincidir con las de los vectores");
+		double[] ax = multiplicar(x).getValores();
+		double[] vector = b.getValores();
+		double suma = 0;
+		for (int i = 0; i < ax.length; i++) {
+			double r = vector[i] - ax[i];
+			suma += r * r;
+		}
+		return Math.sqrt(suma);
+	}
+
+	/**
+	 * Calcula la norma uno recorriendo cada bloque una sola vez
+	 */
+	@Override
+	public double normaUno() {
+		double[] sumas = new double[size[1]];
+		for (int bi = 0; bi < bloquesVerticales; bi++) {
+			int filas = Math.min(bloque, size[0] - bi * bloque);
+			for (int bj = 0; bj < bloquesHorizontales; bj++) {
+				double[] b = getBloque(bi, bj, false);
+				int columna = bj * bloque;
+				int columnas = Math.min(bloque, size[1] - columna);
+				for (int i = 0; i < filas; i++)
+					for (int j = 0; j < columnas; j++)
+						sumas[columna + j] += Math.abs(b[i * bloque + j]);
+			}
+		}
+		double maximo = 0;
+		for (double suma : sumas)
+			if (suma > maximo)
+				maximo = suma;
+		return maximo;
+	}
+
+	/**
+	 * Factoriza la matriz en el lugar como P·A = L·U, por columnas de bloques.
+	 * Para cada columna de bloques se carga en memoria el panel desde la
+	 * diagonal hacia abajo (n × b valores), se factoriza con pivoteo parcial, se
+	 * aplican los intercambios de filas al resto de la matriz y se actualiza la
+	 * submatriz restante bloque por bloque con A22 = A22 - L21·U12. Al terminar
+	 * la matriz contiene L y U y ya no representa a A.
+	 *
+	 * @return Factorización L·U que resuelve leyendo los bloques del archivo
+	 * @throws MatrizOperationException
+	 *             La matriz debe ser cuadrada y no singular
+	 */
+	public FactorizacionLUEnDisco factorizarLU() throws MatrizOperationException {
+		if (size[0] != size[1])
+			throw new MatrizOperationException("No es posible triangular una matriz que no sea cuadrada");
+		int n = size[0];
+		int[] p = new int[n];
+		for (int i = 0; i < n; i++)
+			p[i] = i;
+
+		int[] pivotes = new int[bloque];
+		for (int bk = 0; bk < bloquesHorizontales; bk++) {
+			int k0 = bk * bloque;
+			int ancho = Math.min(bloque, n - k0);
+			int alto = n - k0;
+
+			// Cargo el panel y lo factorizo en memoria
+			double[] panel = new double[alto * ancho];
+			for (int bi = bk; bi < bloquesVerticales; bi++) {
+				double[] b = getBloque(bi, bk, false);
+				int filas = Math.min(bloque, n - bi * bloque);
+				for (int i = 0; i < filas; i++)
+					System.arraycopy(b, i * bloque, panel, (bi * bloque - k0 + i) * ancho, ancho);
+			}
+			factorizarPanel(panel, alto, ancho, pivotes);
+
+			// Devuelvo el panel a sus bloques
+			for (int bi = bk; bi < bloquesVerticales; bi++) {
+				double[] b = getBloque(bi, bk, true);
+				int filas = Math.min(bloque, n - bi * bloque);
+				for (int i = 0; i < filas; i++)
+					System.arraycopy(panel, (bi * bloque - k0 + i) * ancho, b, i * bloque, ancho);
+			}
+
+			// Aplico los intercambios a las demás columnas, una columna de
+			// bloques a la vez para no recorrer toda la fila por cada intercambio
+			for (int c = 0; c < ancho; c++) {
+				int f1 = k0 + c, f2 = k0 + pivotes[c];
+				if (f1 != f2) {
+					int aux = p[f1];
+					p[f1] = p[f2];
+					p[f2] = aux;
+				}
+			}
+			for (int bj = 0; bj < bloquesHorizontales; bj++) {
+				if (bj == bk)
+					continue;
+				for (int c = 0; c < ancho; c++)
+					if (pivotes[c] != c)
+						intercambiarFilas(k0 + c, k0 + pivotes[c], bj, bj + 1);
+			}
+
+			// Actualizo las columnas de bloques a la derecha del panel
+			for (int bj = bk + 1; bj < bloquesHorizontales; bj++) {
+				int columnas = Math.min(bloque, n - bj * bloque);
+
+				// U12 = L11^-1 · A12
+				double[] u = getBloque(bk, bj, true);
+				for (int i = 1; i < ancho; i++)
+					for (int c = 0; c < i; c++) {
+						double factor = panel[i * ancho + c];
+						if (factor != 0)
+							for (int j = 0; j < columnas; j++)
+								u[i * bloque + j] -= factor * u[c * bloque + j];
+					}
+
+				// A22 = A22 - L21 · U12
+				for (int bi = bk + 1; bi < bloquesVerticales; bi++) {
+					int filas = Math.min(bloque, n - bi * bloque);
+					double[] a = getBloque(bi, bj, true);
+					MultiplicadorBloques.multiplicar(-1, panel, (bi * bloque - k0) * ancho, ancho, u, 0, bloque, a, 0,
+							bloque, filas, ancho, columnas);
+					// El bloque u pudo dejar de ser el más reciente, lo vuelvo a
+					// marcar para que no se desaloje
+					u = getBloque(bk, bj, true);
+				}
+			}
+		}
+
+		sincronizar();
+		return new FactorizacionLUEnDisco(this, p);
+	}
+
+	/**
+	 * Factoriza el panel de alto × ancho con pivoteo parcial. En pivotes[c]
+	 * queda la fila del panel que se intercambió con la fila c
+	 */
+	private static void factorizarPanel(double[] panel, int alto, int ancho, int[] pivotes)
+			throws MatrizOperationException {
+		for (int c = 0; c < ancho; c++) {
+			int filaPivote = c;
+			double maximo = Math.abs(panel[c * ancho + c]);
+			for (int i = c + 1; i < alto; i++) {
+				double valor = Math.abs(panel[i * ancho + c]);
+				if (valor > maximo) {
+					maximo = valor;
+					filaPivote = i;
+				}
+			}
+			if (maximo == 0)
+				throw new MatrizOperationException("La matriz no tiene inversa");
+			pivotes[c] = filaPivote;
+
+			if (filaPivote != c)
+				for (int j = 0; j < ancho; j++) {
+					double aux = panel[c * ancho + j];
+					panel[c * ancho + j] = panel[filaPivote * ancho + j];
+					panel[filaPivote * ancho + j] = aux;
+				}
+
+			double pivote = panel[c * ancho + c];
+			for (int i = c + 1; i < alto; i++) {
+				double factor = panel[i * ancho + c] / pivote;
+				panel[i * ancho + c] = factor;
+				if (factor != 0)
+					for (int j = c + 1; j < ancho; j++)
+						panel[i * ancho + j] -= factor * panel[c * ancho + j];
+			}
+		}
+	}
+}
@@ -1,31 +1,86 @@
 package ar.edu.unlam.math;
 
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 
 import ar.edu.unlam.math.exception.MatrizOperationException;
+import ar.edu.unlam.math.exception.NoConvergenciaException;
+import ar.edu.unlam.math.exception.SELException;
+import ar.edu.unlam.math.factorizacion.EstimadorCondicion;
+import ar.edu.unlam.math.factorizacion.Factorizacion;
+import ar.edu.unlam.math.factorizacion.FactorizacionLU;
+import ar.edu.unlam.math.factorizacion.FactorizacionLUSimple;
+import ar.edu.unlam.math.factorizacion.RefinamientoIterativo;
+import ar.edu.unlam.math.io.FormatoBinario;
+import ar.edu.unlam.math.io.LectorNumeros;
+import ar.edu.unlam.math.iterativo.BiCGSTAB;
+import ar.edu.unlam.math.iterativo.GMRES;
+import ar.edu.unlam.math.iterativo.GaussSeidel;
+import ar.edu.unlam.math.iterativo.GradienteConjugado;
+import ar.edu.unlam.math.iterativo.Jacobi;
+import ar.edu.unlam.math.iterativo.MetodoIterativo;
+import ar.edu.unlam.math.multiplicador.Multiplicador;
+import ar.edu.unlam.math.multiplicador.MultiplicadorBloques;
+import ar.edu.unlam.math.multiplicador.MultiplicadorParalelo;
+import ar.edu.unlam.math.multiplicador.MultiplicadorSimple;
+import ar.edu.unlam.math.multiplicador.MultiplicadorVector;
+import ar.edu.unlam.math.nucleo.Nucleo;
+import ar.edu.unlam.math.transpositor.Transpositor;
+import ar.edu.unlam.math.triangulador.CalculadorDeterminante;
 import ar.edu.unlam.math.triangulador.InversorGaussJordan;
 import ar.edu.unlam.math.triangulador.Triangulador;
-import ar.edu.unlam.math.triangulador.TrianguladorGauss;
+import ar.edu.unlam.math.triangulador.TrianguladorCholesky;
+import ar.edu.unlam.math.triangulador.TrianguladorLU;
+import ar.edu.unlam.math.triangulador.TrianguladorLUBloques;
+import ar.edu.unlam.math.triangulador.TrianguladorLUSimple;
+import ar.edu.unlam.math.triangulador.TrianguladorQR;
 
 /**
  * Esta clase representa una Matriz matemática y permite realizar las
- * operaciones básicas con ellas
+ * operaciones básicas con ellas. Los valores se almacenan en un único arreglo
+ * contiguo ordenado por filas, de modo que el elemento (i,j) se encuentra en la
+ * posición i * columnas + j
  * 
  * @author yoni
  * 
  */
-public class MatrizMath {
+public class MatrizMath implements OperadorLineal {
+	private static final Nucleo NUCLEO = Nucleo.getInstancia();
+
 	// Atributos ~
 	// -----------------------------------------------------------------
 	/**
-	 * Almacena los valores numéricos de la matriz
+	 * Almacena los valores numéricos de la matriz, fila por fila
 	 */
-	private double[][] matriz;
+	private double[] valores;
 	/**
 	 * Almacena el tamaño de la matriz, siendo el primer elemento el numero de
 	 * filas y el segundo el numero de columnas
 	 */
 	private int[] size;
+	/**
+	 * Algoritmo utilizado para el producto entre matrices
+	 */
+	private static Multiplicador multiplicador = new MultiplicadorParalelo();
+	/**
+	 * Algoritmo utilizado para transponer
+	 */
+	private static Transpositor transpositor = new Transpositor();
+	/**
+	 * Algoritmo utilizado para el producto por un vector
+	 */
+	private static MultiplicadorVector multiplicadorVector = new MultiplicadorVector();
+	/**
+	 * Dimensión a partir de la cual la factorización LU se realiza por bloques
+	 */
+	private static final int UMBRAL_LU_BLOQUES = 256;
 
 	// Constructores ~
 	// -----------------------------------------------------------------
@@ -33,19 +88,79 @@ public class MatrizMath {
 	}
 
 	public MatrizMath(double[][] matriz) {
-		this.matriz = matriz;
-		if (matriz.length > 0 && matriz[0] != null)
-			this.size = new int[] { matriz.length, matriz[0].length };
+		setMatriz(matriz);
 	}
-	
+
+	/**
+	 * Construye una matriz de ceros del tamaño indicado
+	 * 
+	 * @param filas
+	 *            numero de filas
+	 * @param columnas
+	 *            numero de columnas
+	 */
+	public MatrizMath(int filas, int columnas) {
+		this(filas, columnas, new double[tamanio(filas, columnas)]);
+	}
+
+	/**
+	 * Construye una matriz sobre un arreglo ya ordenado por filas, sin copiarlo
+	 * 
+	 * @param filas
+	 *            numero de filas
+	 * @param columnas
+	 *            numero de columnas
+	 * @param valores
+	 *            valores de la matriz fila por fila
+	 */
+	public MatrizMath(int filas, int columnas, double[] valores) {
+		if (valores.length != (long) filas * columnas)
+			throw new IllegalArgumentException("La cantidad de valores no coincide con el tamaño de la matriz");
+		this.valores = valores;
+		this.size = new int[] { filas, columnas };
+	}
+
+	/**
+	 * Cantidad de valores de una matriz de filas × columnas, verificando que
+	 * entre en un arreglo
+	 */
+	private static int tamanio(int filas, int columnas) {
+		if (filas < 0 || columnas < 0 || (long) filas * columnas > FormatoBinario.MAXIMO_VALORES_EN_MEMORIA)
+			throw new IllegalArgumentException("La matriz de " + filas + "x" + columnas + " no entra en memoria");
+		return filas * columnas;
+	}
+
 	// Getters and setters ~
 	// -----------------------------------------------------------------
+	/**
+	 * Devuelve una copia de la matriz como arreglo de filas
+	 */
 	protected double[][] getMatriz() {
-		return this.matriz;
+		double[][] matriz = new double[size[0]][];
+		for (int i = 0; i < size[0]; i++)
+			matriz[i] = Arrays.copyOfRange(valores, i * size[1], (i + 1) * size[1]);
+		return matriz;
 	}
 
 	public void setMatriz(double[][] matriz) {
-		this.matriz = matriz;
+		if (matriz.length > 0 && matriz[0] != null) {
+			int filas = matriz.length;
+			int columnas = matriz[0].length;
+			this.valores = new double[filas * columnas];
+			for (int i = 0; i < filas; i++)
+				System.arraycopy(matriz[i], 0, valores, i * columnas, columnas);
+			this.size = new int[] { filas, columnas };
+		}
+	}
+
+	/**
+	 * Devuelve el arreglo donde se almacenan los valores de la matriz, fila por
+	 * fila. Modificar el arreglo modifica la matriz.
+	 * 
+	 * @return valores de la matriz ordenados por filas
+	 */
+	public double[] getValores() {
+		return valores;
 	}
 
 	/**
@@ -57,8 +172,47 @@ public class MatrizMath {
 	 *            numero de columna
 	 * @return valor almacenado en (i,j)
 	 */
+	@Override
 	public double get(int i, int j) {
-		return matriz[i][j];
+		return valores[i * size[1] + j];
+	}
+
+	/**
+	 * Modifica el valor ubicado en las posiciones indicadas por i y j
+	 * 
+	 * @param i
+	 *            numero de fila
+	 * @param j
+	 *            numero de columna
+	 * @param valor
+	 *            valor a almacenar en (i,j)
+	 */
+	public void set(int i, int j, double valor) {
+		valores[i * size[1] + j] = valor;
+	}
+
+	public static Multiplicador getMultiplicador() {
+		return multiplicador;
+	}
+
+	/**
+	 * Elige el algoritmo utilizado para el producto entre matrices
+	 * 
+	 * @param multiplicador
+	 *            Algoritmo de multiplicacion
+	 */
+	public static void setMultiplicador(Multiplicador multiplicador) {
+		MatrizMath.multiplicador = multiplicador;
+	}
+
+	/**
+	 * Elige el algoritmo utilizado para el producto por un vector
+	 * 
+	 * @param multiplicadorVector
+	 *            Algoritmo de multiplicacion
+	 */
+	public static void setMultiplicadorVector(MultiplicadorVector multiplicadorVector) {
+		MatrizMath.multiplicadorVector = multiplicadorVector;
 	}
 
 	/**
@@ -67,6 +221,7 @@ public class MatrizMath {
 	 * @return Devuelve el tamaño de la matriz, siendo el primer elemento el
 	 *         numero de filas y el segundo el numero de columnas
 	 */
+	@Override
 	public int[] getDimension() {
 		return size;
 	}
@@ -83,45 +238,79 @@ public class MatrizMath {
 		if (this.size[0] != this.size[1])
 			throw new MatrizOperationException("Para calcular la identidad la matriz debe ser cuadrada");
 
-		double[][] resultado = new double[size[0]][];
-		for (int i = 0; i < size[0]; i++) {
-			resultado[i] = new double[size[1]];
-			for (int j = 0; j < size[1]; j++) {
-				resultado[i][j] = i == j ? 1 : 0;
-			}
-		}
-		return new MatrizMath(resultado);
+		int n = size[0];
+		double[] resultado = new double[n * n];
+		for (int i = 0; i < n; i++)
+			resultado[i * n + i] = 1;
+		return new MatrizMath(n, n, resultado);
+	}
+
+	/**
+	 * Lee una matriz guardada en formato binario con {@link #guardar(String)}
+	 * 
+	 * @param archivo
+	 *            Ubicacion del archivo
+	 * @return Matriz leida
+	 */
+	public static MatrizMath leer(String archivo) throws IOException {
+		return FormatoBinario.leerMatriz(archivo);
+	}
+
+	/**
+	 * Guarda la matriz en formato binario (ver {@link FormatoBinario})
+	 * 
+	 * @param archivo
+	 *            Ubicacion del archivo
+	 */
+	public void guardar(String archivo) throws IOException {
+		FormatoBinario.escribir(archivo, this);
 	}
 
 	// Metodos ~
 	// -----------------------------------------------------------------
 	public String toString() {
-		int n = matriz.length;
 		StringBuilder sb = new StringBuilder();
-		for (int i = 0; i < n; i++) {
+		for (int i = 0; i < size[0]; i++) {
 			sb.append("(");
-			for (int j = 0; j < matriz[i].length; j++)
-				sb.append(matriz[i][j] + ", ");
+			for (int j = 0; j < size[1]; j++)
+				sb.append(valores[i * size[1] + j] + ", ");
 			sb.replace(sb.length() - 2, sb.length(), ")\n");
 		}
 		return sb.toString();
 	}
 
 	public MatrizMath clone() {
-		double[][] resultado = new double[size[0]][];
-		for (int i = 0; i < size[0]; i++) {
-			resultado[i] = new double[size[1]];
-			for (int j = 0; j < size[1]; j++)
-				resultado[i][j] = matriz[i][j];
-		}
-		return new MatrizMath(resultado);
+		return new MatrizMath(size[0], size[1], valores.clone());
+	}
+
+	/**
+	 * Calcula la matriz transpuesta, sin modificar esta matriz
+	 * 
+	 * @return Matriz transpuesta
+	 */
+	public MatrizMath transpuesta() {
+		double[] resultado = new double[valores.length];
+		transpositor.transponer(valores, size[0], size[1], resultado);
+		return new MatrizMath(size[1], size[0], resultado);
+	}
+
+	/**
+	 * Transpone esta matriz en el lugar, sin utilizar otra matriz
+	 * 
+	 * @throws MatrizOperationException
+	 *             La matriz debe ser cuadrada
+	 */
+	public void transponer() throws MatrizOperationException {
+		if (size[0] != size[1])
+			throw new MatrizOperationException("Solamente se pueden transponer en el lugar las matrices cuadradas");
+		transpositor.transponer(valores, size[0]);
 	}
 
 	@Override
 	public int hashCode() {
 		final int prime = 31;
 		int result = 1;
-		result = prime * result + Arrays.hashCode(matriz);
+		result = prime * result + Arrays.hashCode(valores);
 		result = prime * result + Arrays.hashCode(size);
 		return result;
 	}
@@ -135,7 +324,7 @@ public class MatrizMath {
 		if (getClass() != obj.getClass())
 			return false;
 		MatrizMath other = (MatrizMath) obj;
-		if (!Arrays.deepEquals(matriz, other.matriz))
+		if (!Arrays.equals(valores, other.valores))
 			return false;
 		if (!Arrays.equals(size, other.size))
 			return false;
@@ -143,21 +332,46 @@ public class MatrizMath {
 	}
 
 	/**
-	 * Obtiene el determinante de la matriz
+	 * Obtiene el determinante de la matriz a partir de su factorización L·U
+	 * (ver {@link CalculadorDeterminante})
 	 * 
-	 * @return Valor del determinante
+	 * @return Valor del determinante, cero si la matriz es singular
 	 * @throws MatrizOperationException
 	 *             La matriz debe ser cuadrada
 	 */
 	public double determinante() throws MatrizOperationException {
-		Triangulador triangulador = new TrianguladorGauss();
-		double[][] triangulada = triangulador.triangular(this).getMatriz();
-		double resultado = 1;
-		for (int i = 0; i < this.size[0]; i++)
-			for (int j = 0; j < this.size[1]; j++)
-				if (i == j)
-					resultado *= triangulada[i][j];
-		return resultado;
+		return new CalculadorDeterminante().calcular(this);
+	}
+
+	/**
+	 * Obtiene el logaritmo natural del valor absoluto del determinante, que
+	 * puede representarse aunque el determinante se desborde. Para conocer
+	 * también el signo usar {@link #logaritmoDeterminante(int[])}
+	 * 
+	 * @return log|det|, o menos infinito si la matriz es singular
+	 * @throws MatrizOperationException
+	 *             La matriz debe ser cuadrada
+	 */
+	public double logaritmoDeterminante() throws MatrizOperationException {
+		return logaritmoDeterminante(new int[1]);
+	}
+
+	/**
+	 * Obtiene el logaritmo natural del valor absoluto del determinante junto
+	 * con su signo, de modo que det = signo[0] · e^log|det|
+	 * 
+	 * @param signo
+	 *            Arreglo en cuya primera posición se guarda el signo del
+	 *            determinante: 1, -1 o 0 si la matriz es singular
+	 * @return log|det|, o menos infinito si la matriz es singular
+	 * @throws MatrizOperationException
+	 *             La matriz debe ser cuadrada
+	 */
+	public double logaritmoDeterminante(int[] signo) throws MatrizOperationException {
+		CalculadorDeterminante calculador = new CalculadorDeterminante();
+		double logaritmo = calculador.calcularLogaritmo(this);
+		signo[0] = calculador.getSigno();
+		return logaritmo;
 	}
 
 	/**
@@ -169,8 +383,115 @@ public class MatrizMath {
 	 */
 	public MatrizMath inversa() throws MatrizOperationException {
 		Triangulador triangulador = new InversorGaussJordan();
-		double[][] inversa = triangulador.triangular(this).getMatriz();
-		return new MatrizMath(inversa);
+		return triangulador.triangular(this);
+	}
+
+	/**
+	 * Reemplaza la matriz por su inversa sin reservar otra matriz, para
+	 * invertir matrices grandes con la mitad de memoria. Si la matriz es
+	 * singular queda con valores intermedios de la eliminación
+	 * 
+	 * @throws MatrizOperationException
+	 *             La matriz debe ser cuadrada y no singular
+	 */
+	public void invertir() throws MatrizOperationException {
+		new InversorGaussJordan().invertir(this);
+	}
+
+	/**
+	 * Factoriza la matriz en P·A = L·U. La factorización puede guardarse y
+	 * reutilizarse para resolver varios sistemas con la misma matriz de
+	 * coeficientes, cada uno en O(n²)
+	 * 
+	 * @return Factorización LU de la matriz
+	 * @throws MatrizOperationException
+	 *             La matriz debe ser cuadrada y no singular
+	 */
+	public FactorizacionLU factorizarLU() throws MatrizOperationException {
+		if (size[0] >= UMBRAL_LU_BLOQUES)
+			return new TrianguladorLUBloques().factorizar(this);
+		return new TrianguladorLU().factorizar(this);
+	}
+
+	/**
+	 * Factoriza la matriz simétrica definida positiva en A = L·L^T. Solamente
+	 * se utiliza el triángulo inferior de la matriz
+	 * 
+	 * @return Factorización de Cholesky de la matriz
+	 * @throws MatrizOperationException
+	 *             La matriz debe ser cuadrada y definida positiva
+	 */
+	public Factorizacion factorizarCholesky() throws MatrizOperationException {
+		return new TrianguladorCholesky().factorizar(this);
+	}
+
+	/**
+	 * Indica si la matriz es cuadrada y simétrica
+	 * 
+	 * @return true si la matriz es igual a su transpuesta
+	 */
+	public boolean esSimetrica() {
+		if (size[0] != size[1])
+			return false;
+		int n = size[0];
+		for (int i = 0; i < n; i++)
+			for (int j = 0; j < i; j++)
+				if (valores[i * n + j] != valores[j * n + i])
+					return false;
+		return true;
+	}
+
+	/**
+	 * Factoriza la matriz en A = Q·R. Si la matriz tiene más filas que columnas
+	 * la factorización resuelve los sistemas por cuadrados mínimos
+	 * 
+	 * @return Factorización QR de la matriz
+	 * @throws MatrizOperationException
+	 *             La matriz no puede tener menos filas que columnas y debe
+	 *             tener rango completo
+	 */
+	public Factorizacion factorizarQR() throws MatrizOperationException {
+		TrianguladorQR triangulador = new TrianguladorQR();
+		triangulador.triangular(this);
+		return triangulador.getFactorizacion();
+	}
+
+	/**
+	 * Estima el número de condición en norma uno, ||A||·||A^-1||, factorizando
+	 * la matriz en P·A = L·U (ver {@link EstimadorCondicion}). Si ya se tiene
+	 * una factorización conviene {@link #estimarCondicion(Factorizacion)}, que
+	 * cuesta O(n²)
+	 * 
+	 * @return Número de condición aproximado, infinito si la matriz es
+	 *         singular
+	 * @throws MatrizOperationException
+	 *             La matriz debe ser cuadrada
+	 */
+	public double estimarCondicion() throws MatrizOperationException {
+		if (size[0] != size[1])
+			throw new MatrizOperationException("El numero de condicion solamente existe para matrices cuadradas");
+		Factorizacion factorizacion;
+		try {
+			factorizacion = factorizarLU();
+		} catch (MatrizOperationException e) {
+			return Double.POSITIVE_INFINITY;
+		}
+		return estimarCondicion(factorizacion);
+	}
+
+	/**
+	 * Estima el número de condición en norma uno reutilizando una
+	 * factorización de la matriz, en O(n²)
+	 * 
+	 * @param factorizacion
+	 *            Factorización de esta matriz
+	 * @return Número de condición aproximado
+	 * @throws MatrizOperationException
+	 *             La factorización debe ser de una matriz cuadrada de la misma
+	 *             dimensión
+	 */
+	public double estimarCondicion(Factorizacion factorizacion) throws MatrizOperationException {
+		return new EstimadorCondicion().estimar(this, factorizacion);
 	}
 
 	/**
@@ -183,9 +504,14 @@ public class MatrizMath {
 	 *            fila destinoeclipse-open:%E2%98%82=TP2/%5C/usr%5C/lib%5C/jvm%5C/java-1.7.0-openjdk-1.7.0.9.x86_64%5C/jre%5C/lib%5C/rt.jar%3Cjava.lang(System.class%E2%98%83System%5Eout
 	 */
 	public void intercambiarFilas(int f1, int f2) {
-		double[] aux = matriz[f2];
-		matriz[f2] = matriz[f1];
-		matriz[f1] = aux;
+		int columnas = size[1];
+		int inicio1 = f1 * columnas;
+		int inicio2 = f2 * columnas;
+		for (int j = 0; j < columnas; j++) {
+			double aux = valores[inicio2 + j];
+			valores[inicio2 + j] = valores[inicio1 + j];
+			valores[inicio1 + j] = aux;
+		}
 	}
 
 	/**
@@ -199,8 +525,7 @@ public class MatrizMath {
 	 *            escalar a multiplicar
 	 */
 	public void multiplicarFilaPorEscalar(int f1, double n) {
-		for (int j = 0; j < size[1]; j++)
-			matriz[f1][j] *= n;
+		NUCLEO.escalar(n, valores, f1 * size[1], size[1]);
 	}
 
 	/**
@@ -216,8 +541,8 @@ public class MatrizMath {
 	 *            multiplo de la fila a sumar
 	 */
 	public void sumarFilas(int f1, int f2, double n) {
-		for (int j = 0; j < size[1]; j++)
-			matriz[f1][j] += n * matriz[f2][j];
+		int columnas = size[1];
+		NUCLEO.axpy(n, valores, f2 * columnas, valores, f1 * columnas, columnas);
 	}
 
 	/**
@@ -247,14 +572,11 @@ public class MatrizMath {
 		if (this.size[0] != size2[0] || this.size[1] != size2[1])
 			throw new MatrizOperationException("Para sumar el tamaño de las matrices debe ser igual");
 
-		double resultado[][] = new double[this.size[0]][];
-
-		for (int i = 0; i < size[0]; i++) {
-			resultado[i] = new double[size[1]];
-			for (int j = 0; j < size2[1]; j++)
-				resultado[i][j] = get(i, j) + m2.get(i, j);
-		}
-		return new MatrizMath(resultado);
+		double[] otra = m2.getValores();
+		double[] resultado = new double[valores.length];
+		for (int i = 0; i < resultado.length; i++)
+			resultado[i] = valores[i] + otra[i];
+		return new MatrizMath(size[0], size[1], resultado);
 	}
 
 
@@ -272,18 +594,16 @@ public class MatrizMath {
 		if (this.size[0] != size2[0] || this.size[1] != size2[1])
 			throw new MatrizOperationException("Para restar el tamaño de las matrices debe ser igual");
 
-		double resultado[][] = new double[this.size[0]][];
-
-		for (int i = 0; i < size[0]; i++) {
-			resultado[i] = new double[size[1]];
-			for (int j = 0; j < size2[1]; j++)
-				resultado[i][j] = get(i, j) - m2.get(i, j);
-		}
-		return new MatrizMath(resultado);
+		double[] otra = m2.getValores();
+		double[] resultado = new double[valores.length];
+		for (int i = 0; i < resultado.length; i++)
+			resultado[i] = valores[i] - otra[i];
+		return new MatrizMath(size[0], size[1], resultado);
 	}
 
 	/***
-	 * Obtiene la matriz producto de multiplicar por la matriz m2
+	 * Obtiene la matriz producto de multiplicar por la matriz m2, utilizando el
+	 * multiplicador configurado con {@link #setMultiplicador(Multiplicador)}
 	 * 
 	 * @param m2
 	 *            Matriz a multiplicar
@@ -298,15 +618,7 @@ public class MatrizMath {
 			throw new MatrizOperationException(
 					"Para multiplicar el numero de columnas de la primer matriz debe coincidir con el numero de filas de la segunda matriz");
 
-		double resultado[][] = new double[this.size[0]][];
-
-		for (int i = 0; i < size[0]; i++) {
-			resultado[i] = new double[size2[1]];
-			for (int j = 0; j < size2[1]; j++)
-				for (int k = 0; k < size[0]; k++)
-					resultado[i][j] += get(i, k) * m2.get(k, j);
-		}
-		return new MatrizMath(resultado);
+		return multiplicador.multiplicar(this, m2);
 	}
 
 	/***
@@ -317,14 +629,10 @@ public class MatrizMath {
 	 * @return Resultado del producto
 	 */
 	public MatrizMath producto(double n) {
-		double resultado[][] = new double[this.size[0]][];
-
-		for (int i = 0; i < size[0]; i++) {
-			resultado[i] = new double[size[1]];
-			for (int j = 0; j < size[1]; j++)
-				resultado[i][j] += get(i, j) * n;
-		}
-		return new MatrizMath(resultado);
+		double[] resultado = new double[valores.length];
+		for (int i = 0; i < resultado.length; i++)
+			resultado[i] = valores[i] * n;
+		return new MatrizMath(size[0], size[1], resultado);
 	}
 	
 	/***
@@ -341,33 +649,110 @@ public class MatrizMath {
 			throw new MatrizOperationException(
 					"Para multiplicar el numero de columnas de la matriz debe coincidir con la dimension del vector");
 		
-		double resultado[][] = new double[this.size[0]][];
-		
+		return new MatrizMath(size[0], 1, multiplicar(v).getValores());
+	}
+	
+	/**
+	 * Obtiene el vector producto de multiplicar por el vector v
+	 * 
+	 * @param v
+	 *            Vector a multiplicar
+	 * @return Vector resultado del producto
+	 * @throws MatrizOperationException
+	 *             Para multiplicar el numero de columnas de la matriz debe
+	 *             coincidir con la dimension del vector
+	 */
+	@Override
+	public VectorMath multiplicar(VectorMath v) throws MatrizOperationException {
+		VectorMath resultado = VectorMath.ceros(size[0]);
+		multiplicar(v, resultado);
+		return resultado;
+	}
+
+	@Override
+	public void multiplicar(VectorMath v, VectorMath destino) throws MatrizOperationException {
+		if (this.size[1] != v.getDimension() || this.size[0] != destino.getDimension())
+			throw new MatrizOperationException(
+					"Para multiplicar el numero de columnas de la matriz debe coincidir con la dimension del vector");
+
+		multiplicadorVector.multiplicar(valores, size[0], size[1], v.getValores(), destino.getValores());
+	}
+
+	/**
+	 * Obtiene el vector producto de multiplicar la transpuesta por el vector
+	 * v, sin construir la transpuesta
+	 * 
+	 * @param v
+	 *            Vector a multiplicar
+	 * @return Vector resultado del producto Aᵀ·v
+	 * @throws MatrizOperationException
+	 *             Para multiplicar el numero de filas de la matriz debe
+	 *             coincidir con la dimension del vector
+	 */
+	public VectorMath multiplicarTranspuesta(VectorMath v) throws MatrizOperationException {
+		VectorMath resultado = VectorMath.ceros(size[1]);
+		multiplicarTranspuesta(v, resultado);
+		return resultado;
+	}
+
+	/**
+	 * Calcula el producto Aᵀ·v y lo guarda en destino, sin construir la
+	 * transpuesta ni crear otro vector
+	 * 
+	 * @param v
+	 *            Vector a multiplicar
+	 * @param destino
+	 *            Vector donde se guarda el resultado, no puede ser v
+	 * @throws MatrizOperationException
+	 *             La dimension de v debe coincidir con el numero de filas y la
+	 *             de destino con el numero de columnas
+	 */
+	public void multiplicarTranspuesta(VectorMath v, VectorMath destino) throws MatrizOperationException {
+		if (this.size[0] != v.getDimension() || this.size[1] != destino.getDimension())
+			throw new MatrizOperationException(
+					"Para multiplicar la transpuesta el numero de filas de la matriz debe coincidir con la dimension del vector");
+
+		multiplicadorVector.multiplicarTranspuesta(valores, size[0], size[1], v.getValores(), destino.getValores());
+	}
+
+	@Override
+	public double normaResiduo(VectorMath x, VectorMath b) throws MatrizOperationException {
+		if (this.size[1] != x.getDimension() || this.size[0] != b.getDimension())
+			throw new MatrizOperationException(
+					"Para calcular el residuo las dimensiones de la matriz deben coincidir con las de los vectores");
+
+		double[] vector = b.getValores();
+		double suma = 0;
 		for (int i = 0; i < size[0]; i++) {
-			resultado[i] = new double[1];
-			for (int j = 0; j < size[1]; j++)
-				resultado[i][0] += get(i, j) * v.get(j);
+			double r = vector[i] - productoFila(i, x);
+			suma += r * r;
 		}
-		return new MatrizMath(resultado);
+		return Math.sqrt(suma);
 	}
-	
+
+	@Override
+	public double productoFila(int i, VectorMath v) {
+		int columnas = size[1];
+		return NUCLEO.producto(valores, i * columnas, v.getValores(), 0, columnas);
+	}
+
 	/**
-	 * Realiza la norma uno de la matriz (Suma absoluta de columnas)
+	 * Realiza la norma uno de la matriz (Suma absoluta de columnas). Las sumas
+	 * de todas las columnas se acumulan a la vez recorriendo la matriz por
+	 * filas
 	 * 
 	 * @return (Suma absoluta de columnas)
 	 */
+	@Override
 	public double normaUno() {
-		double maximo = 0;
-		double valor;
-		for (int j = 0; j < size[0]; j++) {
-			valor = 0;
-			for (int i = 0; i < size[1]; i++) {
-				valor += Math.abs(get(i, j));
-				if (valor > maximo)
-					maximo = valor;
-			}
+		int columnas = size[1];
+		double[] sumas = new double[columnas];
+		for (int i = 0; i < size[0]; i++) {
+			int fila = i * columnas;
+			for (int j = 0; j < columnas; j++)
+				sumas[j] += Math.abs(valores[fila + j]);
 		}
-		return maximo;
+		return NUCLEO.maximoAbsoluto(sumas, 0, columnas);
 	}
 	
 	/**
@@ -376,11 +761,7 @@ public class MatrizMath {
 	 * @return
 	 */
 	public double normaDos() {
-		double resultado = 0;
-		for (int i = 0; i < size[0]; i++)
-			for (int j = 0; j < size[1]; j++)
-				resultado += get(i, j) * get(i, j);
-		return Math.sqrt(resultado);
+		return Math.sqrt(NUCLEO.sumaCuadrados(valores, 0, valores.length));
 	}
 	
 	/**
@@ -390,14 +771,10 @@ public class MatrizMath {
 	 */
 	public double normaInfinito() {
 		double maximo = 0;
-		double valor;
 		for (int i = 0; i < size[0]; i++) {
-			valor = 0;
-			for (int j = 0; j < size[1]; j++) {
-				valor += Math.abs(get(i, j));
-				if (valor > maximo)
-					maximo = valor;
-			}
+			double valor = NUCLEO.sumaAbsolutos(valores, i * size[1], size[1]);
+			if (valor > maximo)
+				maximo = valor;
 		}
 		return maximo;
 	}
@@ -433,6 +810,11 @@ public class MatrizMath {
 			System.out.println("m2= " + matriz2.determinante() + " - Esperado 8");
 			System.out.println("m3= " + matriz3.determinante() + " - Esperado -640");
 			System.out.println("m4= " + matriz4.determinante() + " - Esperado -6.091294992");
+			int[] signo = new int[1];
+			double logaritmo = matriz3.logaritmoDeterminante(signo);
+			System.out.println("log|m3|= " + logaritmo + " signo= " + signo[0] + " - Esperado " + Math.log(640) + " signo= -1");
+			logaritmo = matriz1.logaritmoDeterminante(signo);
+			System.out.println("log|m1|= " + logaritmo + " signo= " + signo[0] + " - Esperado -Infinity signo= 0");
 		} catch (MatrizOperationException e) {
 			e.printStackTrace();
 		}
@@ -450,6 +832,33 @@ public class MatrizMath {
 			e.printStackTrace();
 		}
 
+		// Inversa en el lugar
+		// ---------------------------------------------------------------------
+		try {
+			System.out.println("---------------------------------------------------------------------");
+			System.out.println("Inversa en el lugar");
+			for (int n : new int[] { 2, 150 }) {
+				MatrizMath a = n == 2 ? matriz2.clone() : matrizDePrueba(n, n);
+				// Invierto el orden de las filas para que haga falta pivotear
+				for (int i = 0; i < n / 2; i++)
+					a.intercambiarFilas(i, n - 1 - i);
+				MatrizMath inversa = a.inversa();
+				MatrizMath enElLugar = a.clone();
+				enElLugar.invertir();
+				System.out.println("n=" + n + ": igual a inversa()? " + enElLugar.equals(inversa) + ", ||I - A*A^-1||= "
+						+ a.getIdentidad().resta(a.producto(enElLugar)).normaDos() + " - Esperado true, < 1E-12");
+			}
+			MatrizMath singular = matriz1.clone();
+			try {
+				singular.invertir();
+				System.out.println("m1: sin excepcion - Esperado MatrizOperationException");
+			} catch (MatrizOperationException e) {
+				System.out.println("m1: MatrizOperationException - Esperado MatrizOperationException");
+			}
+		} catch (Exception e) {
+			e.printStackTrace();
+		}
+
 		// Producto
 		// ---------------------------------------------------------------------
 		try {
@@ -470,6 +879,39 @@ public class MatrizMath {
 			e.printStackTrace();
 		}
 
+		// Producto por multiplicador
+		// ---------------------------------------------------------------------
+		try {
+			System.out.println("---------------------------------------------------------------------");
+			System.out.println("Producto por multiplicador (diferencia relativa con MultiplicadorSimple)");
+			ForkJoinPool pool = new ForkJoinPool(4);
+			try {
+				Multiplicador simple = new MultiplicadorSimple();
+				Multiplicador bloques = new MultiplicadorBloques();
+				Multiplicador paralelo = new MultiplicadorParalelo(pool);
+				// Con umbral bajo se dividen tambien los productos chicos
+				Multiplicador paraleloDividido = new MultiplicadorParalelo(pool, 1000);
+				// filas, comun y columnas impares y fuera de los bordes de los bloques
+				int[][] dimensiones = { { 1, 1, 1 }, { 1, 53, 1 }, { 3, 1, 5 }, { 37, 53, 29 }, { 65, 129, 513 },
+						{ 130, 257, 3 }, { 300, 300, 300 }, { 301, 150, 299 } };
+				for (int[] d : dimensiones) {
+					MatrizMath a = matrizDePrueba(d[0], d[1], d[0] * 1000 + d[1]);
+					MatrizMath b = matrizDePrueba(d[1], d[2], d[1] * 1000 + d[2]);
+					MatrizMath esperado = simple.multiplicar(a, b);
+					double norma = esperado.normaDos();
+					System.out.println(d[0] + "x" + d[1] + " * " + d[1] + "x" + d[2] + ": bloques= "
+							+ bloques.multiplicar(a, b).resta(esperado).normaDos() / norma + ", paralelo= "
+							+ paralelo.multiplicar(a, b).resta(esperado).normaDos() / norma + ", dividido= "
+							+ paraleloDividido.multiplicar(a, b).resta(esperado).normaDos() / norma
+							+ " - Esperado < 1E-14");
+				}
+			} finally {
+				pool.shutdown();
+			}
+		} catch (MatrizOperationException e) {
+			e.printStackTrace();
+		}
+
 		// Norma dos
 		// ---------------------------------------------------------------------
 		try {
@@ -579,6 +1021,463 @@ public class MatrizMath {
 			e.printStackTrace();
 		}
 		
+		// Numero de condicion
+		// ---------------------------------------------------------------------
+		try {
+			System.out.println("---------------------------------------------------------------------");
+			System.out.println("Numero de condicion");
+			System.out.println("m1= " + matriz1.estimarCondicion() + "- Esperado: Infinity");
+			System.out.println("m2= " + matriz2.estimarCondicion() + "- Esperado: "
+					+ matriz2.normaUno() * matriz2.inversa().normaUno());
+			System.out.println("m3= " + matriz3.estimarCondicion() + "- Esperado: "
+					+ matriz3.normaUno() * matriz3.inversa().normaUno());
+		} catch (Exception e) {
+			e.printStackTrace();
+		}
+		
+		// Transposicion
+		// ---------------------------------------------------------------------
+		try {
+			System.out.println("---------------------------------------------------------------------");
+			System.out.println("Transposicion");
+			MatrizMath rectangular = new MatrizMath(new double[][] { { 1, 2, 3 }, { 4, 5, 6 } });
+			System.out.println("r^T= " + rectangular.transpuesta() + " - Esperado (1, 4) (2, 5) (3, 6)");
+			// Dimensiones impares, por encima del corte de la recursion y del
+			// umbral a partir del cual se transpone en paralelo
+			for (int[] dimension : new int[][] { { 3, 3 }, { 300, 170 }, { 517, 517 } }) {
+				int filas = dimension[0], columnas = dimension[1];
+				MatrizMath a = new MatrizMath(filas, columnas);
+				for (int i = 0; i < filas; i++)
+					for (int j = 0; j < columnas; j++)
+						a.set(i, j, i * columnas + j);
+				MatrizMath t = a.transpuesta();
+				boolean correcta = t.getDimension()[0] == columnas && t.getDimension()[1] == filas;
+				for (int i = 0; i < filas; i++)
+					for (int j = 0; j < columnas; j++)
+						correcta &= t.get(j, i) == a.get(i, j);
+				System.out.print(filas + "x" + columnas + ": transpuesta correcta? " + correcta);
+				if (filas == columnas) {
+					a.transponer();
+					System.out.print(", en el lugar igual? " + a.equals(t));
+				}
+				System.out.println(" - Esperado true");
+			}
+			try {
+				rectangular.transponer();
+				System.out.println("r en el lugar: sin excepcion - Esperado MatrizOperationException");
+			} catch (MatrizOperationException e) {
+				System.out.println("r en el lugar: MatrizOperationException - Esperado MatrizOperationException");
+			}
+		} catch (Exception e) {
+			e.printStackTrace();
+		}
+
+		// Resolucion por LU
+		// ---------------------------------------------------------------------
+		try {
+			System.out.println("---------------------------------------------------------------------");
+			System.out.println("Resolucion por LU (||b - A*x|| / ||b||)");
+			for (int n : new int[] { 100, UMBRAL_LU_BLOQUES + 44 }) {
+				MatrizMath a = matrizDePrueba(n, n);
+				VectorMath b = vectorDePrueba(n);
+				VectorMath x = a.factorizarLU().resolver(b);
+				System.out.println("n=" + n + ": " + a.normaResiduo(x, b) / b.normaDos() + " - Esperado < 1E-12");
+			}
+		} catch (Exception e) {
+			e.printStackTrace();
+		}
+
+		// Resolucion por Cholesky
+		// ---------------------------------------------------------------------
+		try {
+			System.out.println("---------------------------------------------------------------------");
+			System.out.println("Resolucion por Cholesky (||b - A*x|| / ||b||)");
+			// A + A^T es simetrica y, por ser de diagonal dominante positiva,
+			// definida positiva
+			MatrizMath a = matrizDePrueba(200, 8);
+			a = a.sumar(a.transpuesta());
+			VectorMath b = vectorDePrueba(200);
+			VectorMath x = a.factorizarCholesky().resolver(b);
+			System.out.println("simetrica? " + a.esSimetrica() + " - Esperado true");
+			System.out.println("n=200: " + a.normaResiduo(x, b) / b.normaDos() + " - Esperado < 1E-12");
+			try {
+				matriz3.factorizarCholesky();
+				System.out.println("m3: sin excepcion - Esperado MatrizOperationException");
+			} catch (MatrizOperationException e) {
+				System.out.println("m3: MatrizOperationException - Esperado MatrizOperationException");
+			}
+		} catch (Exception e) {
+			e.printStackTrace();
+		}
+
+		// Refinamiento iterativo
+		// ---------------------------------------------------------------------
+		try {
+			System.out.println("---------------------------------------------------------------------");
+			System.out.println("Refinamiento iterativo (||b - A*x||)");
+			SEL sel = new SEL("test/input/03_numerosMuyGrandes.in");
+			sel.resolver();
+			double sinRefinar = sel.getError();
+			System.out.println("NINGUNO: " + sinRefinar + " - Esperado < 1E-11");
+			for (SEL.Refinamiento refinamiento : new SEL.Refinamiento[] { SEL.Refinamiento.DOBLE,
+					SEL.Refinamiento.SIMPLE }) {
+				sel.setRefinamiento(refinamiento);
+				sel.resolver();
+				System.out.println(refinamiento + ": " + sel.getError() + " en " + sel.getIteraciones()
+						+ " iteraciones - Esperado <= " + sinRefinar + " en mas de 0 iteraciones");
+			}
+
+			// Hilbert de 8x8 (cond ~ 3E10): los factores en precision simple no
+			// alcanzan y SEL repite con los de precision doble
+			MatrizMath hilbert = new MatrizMath(8, 8);
+			for (int i = 0; i < 8; i++)
+				for (int j = 0; j < 8; j++)
+					hilbert.set(i, j, 1.0 / (i + j + 1));
+			VectorMath b = vectorDePrueba(8);
+			RefinamientoIterativo enSimple = new RefinamientoIterativo(hilbert,
+					new TrianguladorLUSimple().factorizar(hilbert));
+			enSimple.resolver(b);
+			System.out.println("Hilbert con factores en simple: convergio? " + enSimple.convergio() + ", residuo= "
+					+ enSimple.getResiduo() + " - Esperado false");
+			sel = new SEL(hilbert, b);
+			sel.resolver();
+			sinRefinar = sel.getError();
+			sel.setRefinamiento(SEL.Refinamiento.SIMPLE);
+			sel.resolver();
+			Factorizacion factores = ((RefinamientoIterativo) sel.getFactorizacion()).getFactorizacion();
+			System.out.println("Hilbert SIMPLE: factores en simple? " + (factores instanceof FactorizacionLUSimple)
+					+ ", error= " + sel.getError() + " - Esperado false, <= " + sinRefinar);
+
+			// Valores que se desbordan o se anulan en precision simple
+			for (double valor : new double[] { 1E300, 1E-300 }) {
+				MatrizMath fueraDeRango = matriz2.producto(valor);
+				try {
+					new TrianguladorLUSimple().factorizar(fueraDeRango);
+					System.out.println(valor + " en simple: sin excepcion - Esperado MatrizOperationException");
+				} catch (MatrizOperationException e) {
+					System.out.println(valor + " en simple: MatrizOperationException - Esperado MatrizOperationException");
+				}
+				sel = new SEL(fueraDeRango, new VectorMath(valor, valor));
+				sel.setRefinamiento(SEL.Refinamiento.SIMPLE);
+				sel.resolver();
+				System.out.println(valor + " SIMPLE: x= " + sel.getX() + " - Esperado (0.5, 0.0)");
+			}
+		} catch (Exception e) {
+			e.printStackTrace();
+		}
+
+		// Matriz dispersa
+		// ---------------------------------------------------------------------
+		try {
+			System.out.println("---------------------------------------------------------------------");
+			System.out.println("Matriz dispersa");
+			MatrizMath densa = matrizTridiagonal(1000);
+			MatrizDispersa dispersa = new MatrizDispersa(densa);
+			VectorMath v = vectorDePrueba(1000);
+			System.out.println("no nulos= " + dispersa.getCantidadNoNulos() + " - Esperado 2998");
+			System.out.println("densa == dispersa ? " + densa.equals(dispersa.toMatrizMath()) + " - Esperado true");
+			System.out.println("A*v densa == A*v dispersa ? " + densa.multiplicar(v).equals(dispersa.multiplicar(v))
+					+ " - Esperado true");
+			System.out.println("2*A ? " + densa.producto(2).equals(dispersa.sumar(dispersa).toMatrizMath())
+					+ " - Esperado true");
+		} catch (Exception e) {
+			e.printStackTrace();
+		}
+
+		// Metodos iterativos
+		// ---------------------------------------------------------------------
+		try {
+			System.out.println("---------------------------------------------------------------------");
+			System.out.println("Metodos iterativos (||b - A*x|| / ||b||)");
+			// Simetrica, definida positiva y de diagonal dominante: todos los
+			// metodos convergen
+			MatrizDispersa a = new MatrizDispersa(matrizTridiagonal(1000));
+			VectorMath b = vectorDePrueba(1000);
+			MetodoIterativo[] metodos = new MetodoIterativo[] { new Jacobi(), new GaussSeidel(),
+					new GradienteConjugado(), new BiCGSTAB(), new GMRES() };
+			for (MetodoIterativo metodo : metodos) {
+				VectorMath x = metodo.resolver(a, b, null);
+				System.out.println(metodo.getClass().getSimpleName() + ": " + a.normaResiduo(x, b) / b.normaDos()
+						+ " en " + metodo.getIteraciones() + " iteraciones - Esperado < 1E-12");
+			}
+			try {
+				new Jacobi(1E-12, 3).resolver(a, b, null);
+				System.out.println("Jacobi en 3 iteraciones: sin excepcion - Esperado NoConvergenciaException");
+			} catch (NoConvergenciaException e) {
+				System.out.println("Jacobi en 3 iteraciones: NoConvergenciaException, residuo= " + e.getResiduo()
+						+ " - Esperado NoConvergenciaException");
+			}
+
+			// Rotacion de 90 grados: no es singular, pero BiCGSTAB se detiene
+			// en la primera iteracion porque A·r es ortogonal a r
+			MatrizDispersa rotacion = new MatrizDispersa(new MatrizMath(new double[][] { { 0, 1 }, { -1, 0 } }));
+			VectorMath e1 = new VectorMath(1, 0);
+			try {
+				VectorMath x = new BiCGSTAB().resolver(rotacion, e1, null);
+				System.out.println("BiCGSTAB en una rotacion: " + x + " - Esperado NoConvergenciaException");
+			} catch (NoConvergenciaException e) {
+				System.out.println("BiCGSTAB en una rotacion: NoConvergenciaException, x= " + e.getAproximacion()
+						+ " - Esperado NoConvergenciaException, x sin NaN");
+			}
+			SEL sel = new SEL(rotacion, e1);
+			try {
+				sel.resolver();
+				System.out.println("SEL en una rotacion: x= " + sel.getX() + " - Esperado SELException");
+			} catch (SELException e) {
+				System.out.println("SEL en una rotacion: SELException, error= " + sel.getError()
+						+ " - Esperado SELException, error 1.0");
+			}
+		} catch (Exception e) {
+			e.printStackTrace();
+		}
+
+		// Resolucion por QR
+		// ---------------------------------------------------------------------
+		try {
+			System.out.println("---------------------------------------------------------------------");
+			System.out.println("Resolucion por QR");
+			MatrizMath a = matrizDePrueba(120, 5);
+			VectorMath b = vectorDePrueba(120);
+			VectorMath x = a.factorizarQR().resolver(b);
+			System.out.println("n=120: " + a.normaResiduo(x, b) / b.normaDos() + " - Esperado < 1E-12");
+
+			// Recta por cuadrados minimos: los puntos se desvian de y = 3 + 2t
+			// con el patron +, -, -, +, que suma cero y es ortogonal a t en
+			// cada grupo de cuatro, por lo que la mejor recta es y = 3 + 2t
+			MatrizMath puntos = new MatrizMath(48, 2);
+			double[] y = new double[48];
+			for (int i = 0; i < 48; i++) {
+				puntos.set(i, 0, 1);
+				puntos.set(i, 1, i);
+				y[i] = 3 + 2 * i + (i % 4 == 0 || i % 4 == 3 ? 0.5 : -0.5);
+			}
+			VectorMath recta = puntos.factorizarQR().resolver(new VectorMath(y));
+			VectorMath residuo = new VectorMath(y).restar(puntos.multiplicar(recta));
+			System.out.println("recta= " + recta + " - Esperado (3.0, 2.0)");
+			System.out.println("A^T*(y - A*x)= " + puntos.multiplicarTranspuesta(residuo).normaDos()
+					+ " - Esperado < 1E-10");
+		} catch (Exception e) {
+			e.printStackTrace();
+		}
+
+		// Resolucion fuera de memoria
+		// ---------------------------------------------------------------------
+		try {
+			System.out.println("---------------------------------------------------------------------");
+			System.out.println("Resolucion fuera de memoria (||b - A*x|| / ||b||)");
+			// Invierto el orden de las filas para que la diagonal quede chica y
+			// haga falta pivotear; 150 no es multiplo del bloque de 32
+			MatrizMath a = matrizDePrueba(150, 13);
+			for (int i = 0; i < 75; i++)
+				a.intercambiarFilas(i, 149 - i);
+			VectorMath b = vectorDePrueba(150);
+
+			File directorio = File.createTempFile("disco", "");
+			directorio.delete();
+			directorio.mkdir();
+			File archivo = new File(directorio, "a.bloques");
+			try {
+				MatrizEnDisco disco = MatrizEnDisco.desdeMatriz(a, archivo.getPath(), 32, 4);
+				System.out.println("copia: " + a.equals(disco.toMatrizMath()) + " - Esperado true");
+				SEL sel = new SEL(disco, b);
+				sel.resolver();
+				System.out.println("SEL: " + a.normaResiduo(sel.getX(), b) / b.normaDos() + " - Esperado < 1E-12");
+				sel.close();
+				System.out.println("archivos al cerrar: " + Arrays.toString(directorio.list())
+						+ " - Esperado [a.bloques]");
+
+				// Factorizo en el lugar: la matriz en disco pasa a contener L y U
+				VectorMath x = disco.factorizarLU().resolver(b);
+				System.out.println("LU en el lugar: " + a.normaResiduo(x, b) / b.normaDos() + " - Esperado < 1E-12");
+				System.out.println("igual a LU en memoria ? "
+						+ x.restar(a.factorizarLU().resolver(b)).normaInfinito() + " - Esperado < 1E-12");
+				disco.close();
+			} finally {
+				archivo.delete();
+				directorio.delete();
+			}
+		} catch (Exception e) {
+			e.printStackTrace();
+		}
+
+		// Lectura de numeros
+		// ---------------------------------------------------------------------
+		try {
+			System.out.println("---------------------------------------------------------------------");
+			System.out.println("Lectura de numeros (comparada bit a bit con Double.parseDouble)");
+			List<String> numeros = new ArrayList<String>(Arrays.asList("0", "-0.0", "1", "+2.5", "1e0", "1E-5",
+					"0.1", "0.3", "123456789012345678", "9007199254740993", "2.2250738585072011e-308",
+					"2.2250738585072014E-308", "4.9e-324", "2.4e-324", "1.7976931348623157E308", "1.8e308",
+					"1e-400", "3.141592653589793238462643383279", "0.000000000000000000000001",
+					"7.038531e-26", "1.00000000000000011102230246251565404236316680908203125"));
+			Random random = new Random(11);
+			for (int i = 0; i < 50000; i++) {
+				// Doubles arbitrarios escritos por Double.toString
+				double valor;
+				do {
+					valor = Double.longBitsToDouble(random.nextLong());
+				} while (Double.isNaN(valor) || Double.isInfinite(valor));
+				numeros.add(Double.toString(valor));
+
+				// Mantisas de hasta 20 digitos con exponentes cercanos a los
+				// limites de cada conversion
+				StringBuilder sb = new StringBuilder();
+				if (random.nextBoolean())
+					sb.append('-');
+				int digitos = 1 + random.nextInt(20);
+				for (int d = 0; d < digitos; d++) {
+					sb.append((char) ('0' + random.nextInt(10)));
+					if (d == 0 && random.nextBoolean())
+						sb.append('.');
+				}
+				sb.append('e').append(random.nextInt(700) - 350);
+				numeros.add(sb.toString());
+			}
+			StringBuilder texto = new StringBuilder();
+			for (int i = 0; i < numeros.size(); i++)
+				texto.append(numeros.get(i)).append(i % 7 == 0 ? "\n" : i % 3 == 0 ? "\t" : " ");
+
+			LectorNumeros lector = new LectorNumeros(new ByteArrayInputStream(texto.toString().getBytes("US-ASCII")));
+			int diferencias = 0;
+			for (String numero : numeros) {
+				long esperado = Double.doubleToRawLongBits(Double.parseDouble(numero));
+				if (Double.doubleToRawLongBits(lector.leerDouble()) != esperado) {
+					if (diferencias == 0)
+						System.out.println("primera diferencia: " + numero);
+					diferencias++;
+				}
+			}
+			lector.close();
+			System.out.println(numeros.size() + " numeros, diferencias= " + diferencias + " - Esperado 0");
+		} catch (Exception e) {
+			e.printStackTrace();
+		}
+
+		// Formato binario
+		// ---------------------------------------------------------------------
+		try {
+			System.out.println("---------------------------------------------------------------------");
+			System.out.println("Formato binario (escritura y lectura)");
+			MatrizMath m = matrizDePrueba(37, 12).producto(1E300);
+			m.set(0, 0, -0.0);
+			m.set(0, 1, Double.MIN_VALUE);
+			m.set(0, 2, Double.NaN);
+			m.set(0, 3, Double.NEGATIVE_INFINITY);
+			VectorMath v = vectorDePrueba(37).multiplicarEn(Math.PI);
+
+			File archivo = File.createTempFile("matriz", ".bin");
+			try {
+				m.guardar(archivo.getPath());
+				System.out.println("matriz: " + m.equals(MatrizMath.leer(archivo.getPath())) + " - Esperado true");
+				FormatoBinario.escribir(archivo.getPath(), v);
+				System.out.println("vector: " + v.equals(FormatoBinario.leerVector(archivo.getPath()))
+						+ " - Esperado true");
+				new SEL(m, v).guardarBinario(archivo.getPath());
+				SEL sel = new SEL(archivo.getPath());
+				System.out.println("sistema: " + (m.equals(sel.getM()) && v.equals(sel.getB())) + " - Esperado true");
+			} finally {
+				archivo.delete();
+			}
+		} catch (Exception e) {
+			e.printStackTrace();
+		}
+
+		// Ejecutor de lotes
+		// ---------------------------------------------------------------------
+		try {
+			System.out.println("---------------------------------------------------------------------");
+			System.out.println("Ejecutor de lotes");
+			File directorio = File.createTempFile("lote", "");
+			directorio.delete();
+			directorio.mkdir();
+			File salida = new File(directorio, "salida");
+			File manifiesto = new File(directorio, "lote.txt");
+			try {
+				// x.in y x.bin escribirian el mismo x.out, roto.in no es un
+				// sistema
+				FileWriter out = new FileWriter(new File(directorio, "x.in"));
+				out.write("2\n2 3\n2 7\n1 1\n");
+				out.close();
+				new SEL(matriz2, new VectorMath(1, 1)).guardarBinario(new File(directorio, "x.bin").getPath());
+				out = new FileWriter(new File(directorio, "roto.in"));
+				out.write("2\n1 uno\n");
+				out.close();
+				out = new FileWriter(manifiesto);
+				out.write("# sistemas de prueba\nx.in\n\nx.bin\nroto.in\n");
+				out.close();
+
+				List<EjecutorSEL.Resultado> resultados = new EjecutorSEL(2).ejecutarManifiesto(manifiesto, salida);
+				for (EjecutorSEL.Resultado resultado : resultados)
+					System.out.println(resultado.getArchivo().getName() + ": "
+							+ (resultado.getFalla() == null ? "ok" : "falla " + resultado.getFalla().getMessage()));
+				System.out.println("Esperado: x.in ok, x.bin falla porque x.out ya corresponde a x.in, roto.in falla");
+				System.out.println("salida= " + Arrays.toString(salida.list()) + " - Esperado [x.out]");
+			} finally {
+				File[] escritos = salida.listFiles();
+				if (escritos != null)
+					for (File archivo : escritos)
+						archivo.delete();
+				for (File archivo : directorio.listFiles())
+					archivo.delete();
+				directorio.delete();
+			}
+		} catch (Exception e) {
+			e.printStackTrace();
+		}
+
+		// Nucleos
+		// ---------------------------------------------------------------------
+		try {
+			System.out.println("---------------------------------------------------------------------");
+			System.out.println("Nucleos (diferencia con el escalar, relativa a la suma de los |terminos|)");
+			Nucleo escalar = Nucleo.crear(Nucleo.ESCALAR);
+			Random random = new Random(22);
+			double[] a = new double[64], b = new double[64], absA = new double[64], absB = new double[64];
+			for (int i = 0; i < a.length; i++) {
+				a[i] = 2 * random.nextDouble() - 1;
+				b[i] = 2 * random.nextDouble() - 1;
+				absA[i] = Math.abs(a[i]);
+				absB[i] = Math.abs(b[i]);
+			}
+			for (String nombre : new String[] { Nucleo.DESENROLLADO, Nucleo.VECTORIAL }) {
+				Nucleo nucleo = Nucleo.crear(nombre);
+				double diferencia = 0;
+				boolean maximosIguales = true;
+				// Largos impares y posiciones desalineadas, para recorrer las
+				// colas de los ciclos desenrollados y vectoriales
+				for (int n = 0; n <= 37; n++)
+					for (int inicio = 0; inicio <= 3; inicio++) {
+						int otro = 3 - inicio;
+						double escala = escalar.producto(absA, inicio, absB, otro, n);
+						diferencia = Math.max(diferencia, diferencia(escalar.producto(a, inicio, b, otro, n),
+								nucleo.producto(a, inicio, b, otro, n), escala));
+						escala = escalar.sumaAbsolutos(a, inicio, n);
+						diferencia = Math.max(diferencia,
+								diferencia(escala, nucleo.sumaAbsolutos(a, inicio, n), escala));
+						escala = escalar.sumaCuadrados(a, inicio, n);
+						diferencia = Math.max(diferencia,
+								diferencia(escala, nucleo.sumaCuadrados(a, inicio, n), escala));
+						maximosIguales &= escalar.maximoAbsoluto(a, inicio, n) == nucleo.maximoAbsoluto(a, inicio, n);
+
+						double[] y1 = b.clone(), y2 = b.clone();
+						escalar.axpy(0.75, a, inicio, y1, otro, n);
+						nucleo.axpy(0.75, a, inicio, y2, otro, n);
+						escalar.escalar(-3, y1, inicio, n);
+						nucleo.escalar(-3, y2, inicio, n);
+						for (int i = 0; i < y1.length; i++)
+							diferencia = Math.max(diferencia, diferencia(y1[i], y2[i], 3 * (absB[i] + 0.75)));
+					}
+				double[] conNaN = { 1, Double.NaN, 3, -7, 2 };
+				System.out.println(nucleo.getClass().getSimpleName() + ": " + diferencia + ", maximos iguales? "
+						+ maximosIguales + ", maximo con NaN= " + nucleo.maximoAbsoluto(conNaN, 0, 5)
+						+ " - Esperado < 1E-14, true, NaN");
+			}
+			System.out.println(escalar.getClass().getSimpleName() + ": maximo con NaN= "
+					+ escalar.maximoAbsoluto(new double[] { 1, Double.NaN, 3 }, 0, 3) + " - Esperado NaN");
+		} catch (Exception e) {
+			e.printStackTrace();
+		}
+
 		// Equals
 		// ---------------------------------------------------------------------
 		try {
@@ -594,4 +1493,66 @@ public class MatrizMath {
 
 	}
 
+	/**
+	 * Matriz de n×n con valores pseudoaleatorios en [-1, 1) y diagonal
+	 * dominante, para las pruebas de resolución
+	 */
+	private static MatrizMath matrizDePrueba(int n, long semilla) {
+		Random random = new Random(semilla);
+		MatrizMath m = new MatrizMath(n, n);
+		for (int i = 0; i < n; i++) {
+			for (int j = 0; j < n; j++)
+				m.set(i, j, 2 * random.nextDouble() - 1);
+			m.set(i, i, m.get(i, i) + n);
+		}
+		return m;
+	}
+
+	/**
+	 * Matriz de filas×columnas con valores pseudoaleatorios en [-1, 1), para
+	 * las pruebas de producto
+	 */
+	private static MatrizMath matrizDePrueba(int filas, int columnas, long semilla) {
+		Random random = new Random(semilla);
+		MatrizMath m = new MatrizMath(filas, columnas);
+		for (int i = 0; i < filas; i++)
+			for (int j = 0; j < columnas; j++)
+				m.set(i, j, 2 * random.nextDouble() - 1);
+		return m;
+	}
+
+	/**
+	 * |a - b| / escala, cero si ambos son iguales
+	 */
+	private static double diferencia(double a, double b, double escala) {
+		if (a == b)
+			return 0;
+		return Math.abs(a - b) / escala;
+	}
+
+	/**
+	 * Matriz de n×n con 4 en la diagonal y -1 a sus lados
+	 */
+	private static MatrizMath matrizTridiagonal(int n) {
+		MatrizMath m = new MatrizMath(n, n);
+		for (int i = 0; i < n; i++) {
+			m.set(i, i, 4);
+			if (i > 0)
+				m.set(i, i - 1, -1);
+			if (i + 1 < n)
+				m.set(i, i + 1, -1);
+		}
+		return m;
+	}
+
+	/**
+	 * Vector (1, 2, ..., n)
+	 */
+	private static VectorMath vectorDePrueba(int n) {
+		double[] v = new double[n];
+		for (int i = 0; i < n; i++)
+			v[i] = i + 1;
+		return new VectorMath(v);
+	}
+
 }
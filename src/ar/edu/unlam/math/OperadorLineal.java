@@ -0,0 +1,92 @@
+package ar.edu.unlam.math;
+
+import ar.edu.unlam.math.exception.MatrizOperationException;
+
+/**
+ * Matriz de la que solamente se requiere poder multiplicarla por un vector,
+ * como la utilizan los métodos iterativos. La implementan tanto las matrices
+ * densas como las dispersas.
+ * 
+ * @author yoni
+ * 
+ */
+public interface OperadorLineal {
+	/**
+	 * Devuelve el tamaño del operador
+	 * 
+	 * @return numero de filas y numero de columnas
+	 */
+	public int[] getDimension();
+
+	/**
+	 * Calcula el producto A·v
+	 * 
+	 * @param v
+	 *            Vector a multiplicar
+	 * @return Vector resultado del producto
+	 * @throws MatrizOperationException
+	 *             La dimension del vector debe coincidir con el numero de
+	 *             columnas
+	 */
+	public VectorMath multiplicar(VectorMath v) throws MatrizOperationException;
+
+	/**
+	 * Calcula el producto A·v y lo guarda en destino, sin crear otro vector.
+	 * Lo utilizan los métodos iterativos para no reservar memoria en cada
+	 * iteración
+	 * 
+	 * @param v
+	 *            Vector a multiplicar
+	 * @param destino
+	 *            Vector donde se guarda el resultado, no puede ser v
+	 * @throws MatrizOperationException
+	 *             La dimension de v debe coincidir con el numero de columnas y
+	 *             la de destino con el numero de filas
+	 */
+	public void multiplicar(VectorMath v, VectorMath destino) throws MatrizOperationException;
+
+	/**
+	 * Calcula la norma dos del residuo b - A·x sin guardar el producto A·x
+	 * 
+	 * @param x
+	 *            Aproximación de la solución
+	 * @param b
+	 *            Vector de términos independientes
+	 * @return ||b - A·x||
+	 * @throws MatrizOperationException
+	 *             La dimension de x debe coincidir con el numero de columnas y
+	 *             la de b con el numero de filas
+	 */
+	public double normaResiduo(VectorMath x, VectorMath b) throws MatrizOperationException;
+
+	/**
+	 * Calcula la norma uno del operador, la mayor suma de valores absolutos de
+	 * una columna
+	 * 
+	 * @return max_j sum_i |a_ij|
+	 */
+	public double normaUno();
+
+	/**
+	 * Devuelve el valor ubicado en las posiciones indicadas por i y j
+	 * 
+	 * @param i
+	 *            numero de fila
+	 * @param j
+	 *            numero de columna
+	 * @return valor almacenado en (i,j)
+	 */
+	public double get(int i, int j);
+
+	/**
+	 * Calcula el producto interno entre la fila i y el vector v, sin verificar
+	 * dimensiones. Lo utilizan los métodos que recorren la matriz fila por fila
+	 * 
+	 * @param i
+	 *            numero de fila
+	 * @param v
+	 *            Vector a multiplicar
+	 * @return Producto interno de la fila i por v
+	 */
+	public double productoFila(int i, VectorMath v);
+}
@@ -1,30 +1,94 @@
 package ar.edu.unlam.math;
 
-import java.io.BufferedReader;
+import java.io.Closeable;
 import java.io.File;
-import java.io.FileReader;
-import java.io.FileWriter;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.PrintWriter;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
 
 import ar.edu.unlam.math.exception.MatrizOperationException;
+import ar.edu.unlam.math.exception.NoConvergenciaException;
 import ar.edu.unlam.math.exception.SELException;
+import ar.edu.unlam.math.factorizacion.EstimadorCondicion;
+import ar.edu.unlam.math.factorizacion.Factorizacion;
+import ar.edu.unlam.math.factorizacion.FactorizacionLUSimple;
+import ar.edu.unlam.math.factorizacion.RefinamientoIterativo;
+import ar.edu.unlam.math.io.EscritorNumeros;
+import ar.edu.unlam.math.io.FormatoBinario;
+import ar.edu.unlam.math.io.LectorNumeros;
+import ar.edu.unlam.math.iterativo.BiCGSTAB;
+import ar.edu.unlam.math.iterativo.MetodoIterativo;
+import ar.edu.unlam.math.triangulador.TrianguladorLUSimple;
 
 /**
- * Resuelve un sistema de ecuaciones lineales
+ * Resuelve un sistema de ecuaciones lineales. Los sistemas con matriz en disco
+ * factorizan una copia temporal de la matriz, que se borra al cerrarlos con
+ * {@link #close()}
  * 
  * @author yoni
  * 
  */
-public class SEL {
+public class SEL implements Closeable {
 	private static final double EPSILON = 1E-12;
 
+	/**
+	 * Forma de mejorar la solución obtenida por factorización
+	 */
+	public enum Refinamiento {
+		/**
+		 * Se utiliza la solución de la factorización
+		 */
+		NINGUNO,
+		/**
+		 * Se refina con la factorización en precisión doble
+		 */
+		DOBLE,
+		/**
+		 * Se refina con una factorización L·U en precisión simple, y si no
+		 * alcanza la tolerancia se repite con la de precisión doble
+		 */
+		SIMPLE
+	}
+
 	// Atributos ~
 	// -----------------------------------------------------------------
 	private MatrizMath m;
+	/**
+	 * Matriz de coeficientes almacenada en disco, si no entra en memoria
+	 */
+	private MatrizEnDisco enDisco;
+	/**
+	 * Copia de la matriz en disco que se factoriza, en un archivo temporal
+	 */
+	private MatrizEnDisco copiaEnDisco;
+	private File archivoCopia;
+	/**
+	 * Matriz de coeficientes vista como operador, densa o dispersa
+	 */
+	private OperadorLineal operador;
 	private VectorMath x, b;
 	private double error;
 	private boolean tieneSolucion;
+	/**
+	 * Factorización de m, se conserva para resolver con otros vectores b
+	 */
+	private Factorizacion factorizacion;
+	/**
+	 * Si no es null el sistema se resuelve con este método iterativo
+	 */
+	private MetodoIterativo metodoIterativo;
+	/**
+	 * Aproximación desde la que comienza el método iterativo
+	 */
+	private VectorMath aproximacionInicial;
+	private Refinamiento refinamiento = Refinamiento.NINGUNO;
+	/**
+	 * Número de condición estimado con la factorización, NaN si todavía no se
+	 * pidió o no se factorizó la matriz
+	 */
+	private double condicion = Double.NaN;
 
 	// Constructores ~
 	// -----------------------------------------------------------------
@@ -38,56 +102,161 @@ public class SEL {
 	 */
 	public SEL(MatrizMath m, VectorMath b) {
 		this.m = m;
+		this.operador = m;
+		this.b = b;
+	}
+
+	/**
+	 * Construye un sistema de ecuaciones lineales con matriz de coeficientes
+	 * dispersa, que se resuelve por un método iterativo
+	 * 
+	 * @param m
+	 *            Matriz de coeficientes dispersa
+	 * @param b
+	 *            Resultado de ecuaciones
+	 */
+	public SEL(MatrizDispersa m, VectorMath b) {
+		this.operador = m;
+		this.b = b;
+		this.metodoIterativo = new BiCGSTAB();
+	}
+
+	/**
+	 * Construye un sistema de ecuaciones lineales cuya matriz de coeficientes
+	 * está almacenada en disco. Se resuelve con la factorización L·U por
+	 * bloques de {@link MatrizEnDisco}, sobre una copia temporal de la matriz
+	 * en el mismo directorio que se borra al cerrar el sistema con
+	 * {@link #close()}
+	 * 
+	 * @param m
+	 *            Matriz de coeficientes en disco
+	 * @param b
+	 *            Resultado de ecuaciones
+	 */
+	public SEL(MatrizEnDisco m, VectorMath b) {
+		this.enDisco = m;
+		this.operador = m;
 		this.b = b;
 	}
 
 	/**
 	 * Construye el sistema de ecuaciones lineales en base al contenido del
-	 * archivo
+	 * archivo, que puede estar en formato de texto o en el formato binario de
+	 * {@link FormatoBinario}
 	 * 
 	 * @param file
 	 *            Ubicacion del archivo
 	 */
 	public SEL(String file) throws SELException {
-		File f = null;
-		FileReader fr = null;
-		BufferedReader in = null;
-		String linea;
-		double matriz[][];
+		LectorNumeros in = null;
+		double matriz[];
 		double vector[];
 		try {
-			f = new File(file);
-			fr = new FileReader(f);
-			in = new BufferedReader(fr);
+			if (FormatoBinario.esBinario(file)) {
+				leerBinario(file);
+				return;
+			}
+
+			in = new LectorNumeros(new FileInputStream(file));
 
 			// Leo la dimension de la matriz
-			linea = in.readLine();
-			int dim = Integer.valueOf(linea);
-			matriz = new double[dim][];
-
-			// Leo los valores de la matriz
-			for (int i = 0; i < dim; i++) {
-				matriz[i] = new double[dim];
-				linea = in.readLine();
-				String[] numeros = linea.split(" ");
-				for (int j = 0; j < dim; j++)
-					matriz[i][j] = Double.valueOf(numeros[j]);
-			}
+			int dim = in.leerEntero();
+			if (dim < 0)
+				throw new IOException("Dimension invalida: " + dim);
+			FormatoBinario.verificarTamanioEnMemoria(dim, dim);
+
+			// Leo los valores de la matriz, directamente en su arreglo
+			matriz = new double[dim * dim];
+			in.leerDoubles(matriz, 0, dim * dim);
 
 			// Leo los valores del vector resultado
 			vector = new double[dim];
-			for (int i = 0; i < dim; i++)
-				vector[i] = Double.valueOf(in.readLine());
+			in.leerDoubles(vector, 0, dim);
 
-			this.m = new MatrizMath(matriz);
-			this.b = new VectorMath(vector);
+			this.m = new MatrizMath(dim, dim, matriz);
+			this.operador = this.m;
+			this.b = new VectorMath();
+			this.b.setValores(vector);
 
 		} catch (Exception e) {
 			throw new SELException(e);
 		} finally {
-			if (fr != null)
+			if (in != null)
 				try {
-					fr.close();
+					in.close();
+				} catch (IOException e) {
+					throw new SELException(e);
+				}
+		}
+	}
+
+	/**
+	 * Lee la matriz y el vector de un archivo binario de tipo sistema
+	 */
+	private void leerBinario(String file) throws IOException {
+		RandomAccessFile f = null;
+		try {
+			f = new RandomAccessFile(file, "r");
+			FileChannel canal = f.getChannel();
+			FormatoBinario.Encabezado encabezado = FormatoBinario.leerEncabezado(canal);
+			int dim = encabezado.getFilas();
+			if (encabezado.getTipo() != FormatoBinario.TIPO_SISTEMA || encabezado.getColumnas() != dim)
+				throw new IOException("El archivo no contiene un sistema de ecuaciones cuadrado");
+			FormatoBinario.verificarTamanioEnMemoria(dim, dim);
+
+			double[] matriz = new double[dim * dim];
+			double[] vector = new double[dim];
+			FormatoBinario.leerValores(canal, FormatoBinario.TAMANIO_ENCABEZADO, matriz, 0, matriz.length);
+			FormatoBinario.leerValores(canal, FormatoBinario.TAMANIO_ENCABEZADO + 8L * matriz.length, vector, 0, dim);
+
+			this.m = new MatrizMath(dim, dim, matriz);
+			this.operador = this.m;
+			this.b = new VectorMath();
+			this.b.setValores(vector);
+		} finally {
+			if (f != null)
+				f.close();
+		}
+	}
+
+	/**
+	 * Construye un sistema a partir de un archivo binario de tipo sistema,
+	 * copiando la matriz de coeficientes a un archivo de bloques en lugar de
+	 * cargarla en memoria
+	 * 
+	 * @param file
+	 *            Archivo del sistema en formato binario
+	 * @param archivoBloques
+	 *            Archivo donde se guarda la matriz por bloques
+	 * @return Sistema con la matriz de coeficientes en disco
+	 */
+	public static SEL leerEnDisco(String file, String archivoBloques) throws SELException {
+		RandomAccessFile f = null;
+		try {
+			// Valido el encabezado y leo el vector antes de copiar la matriz,
+			// para no crear el archivo de bloques si el sistema no sirve
+			f = new RandomAccessFile(file, "r");
+			FileChannel canal = f.getChannel();
+			FormatoBinario.Encabezado encabezado = FormatoBinario.leerEncabezado(canal);
+			int dim = encabezado.getFilas();
+			if (encabezado.getTipo() != FormatoBinario.TIPO_SISTEMA || encabezado.getColumnas() != dim)
+				throw new SELException("El archivo no contiene un sistema de ecuaciones cuadrado");
+			double[] vector = new double[dim];
+			FormatoBinario.leerValores(canal, FormatoBinario.TAMANIO_ENCABEZADO + 8L * dim * dim, vector, 0, dim);
+			VectorMath b = new VectorMath();
+			b.setValores(vector);
+
+			// Si la copia falla, desdeBinario cierra y borra el archivo de
+			// bloques
+			MatrizEnDisco m = MatrizEnDisco.desdeBinario(file, archivoBloques, MatrizEnDisco.BLOQUE_POR_DEFECTO,
+					MatrizEnDisco.BLOQUES_EN_MEMORIA_POR_DEFECTO);
+			return new SEL(m, b);
+		} catch (IOException e) {
+			throw new SELException(e);
+		} finally {
+			if (f != null)
+				try {
+					f.close();
 				} catch (IOException e) {
 					throw new SELException(e);
 				}
@@ -102,6 +271,15 @@ public class SEL {
 
 	public void setM(MatrizMath m) {
 		this.m = m;
+		this.enDisco = null;
+		this.operador = m;
+		this.factorizacion = null;
+		this.condicion = Double.NaN;
+		liberarCopia();
+	}
+
+	public OperadorLineal getOperador() {
+		return operador;
 	}
 
 	public VectorMath getX() {
@@ -120,26 +298,248 @@ public class SEL {
 		return error;
 	}
 
+	public Factorizacion getFactorizacion() {
+		return factorizacion;
+	}
+
+	public MetodoIterativo getMetodoIterativo() {
+		return metodoIterativo;
+	}
+
+	/**
+	 * Elige el método iterativo con el que se resuelve el sistema. Con null se
+	 * vuelve a resolver por factorización (solamente con matrices densas)
+	 * 
+	 * @param metodoIterativo
+	 *            Método iterativo, con su tolerancia y máximo de iteraciones
+	 */
+	public void setMetodoIterativo(MetodoIterativo metodoIterativo) {
+		this.metodoIterativo = metodoIterativo;
+	}
+
+	/**
+	 * Indica la aproximación desde la que comienza el método iterativo, por
+	 * ejemplo la solución de un sistema anterior parecido
+	 * 
+	 * @param aproximacionInicial
+	 *            Aproximación inicial, o null para comenzar desde cero
+	 */
+	public void setAproximacionInicial(VectorMath aproximacionInicial) {
+		this.aproximacionInicial = aproximacionInicial;
+	}
+
+	/**
+	 * Cantidad de iteraciones realizadas por el método iterativo o por el
+	 * refinamiento en la última resolución
+	 * 
+	 * @return Iteraciones realizadas, o cero si se resolvió por factorización
+	 *         sin refinar
+	 */
+	public int getIteraciones() {
+		if (metodoIterativo != null)
+			return metodoIterativo.getIteraciones();
+		if (factorizacion instanceof RefinamientoIterativo)
+			return ((RefinamientoIterativo) factorizacion).getIteraciones();
+		return 0;
+	}
+
+	public Refinamiento getRefinamiento() {
+		return refinamiento;
+	}
+
+	/**
+	 * Elige cómo se mejora la solución obtenida por factorización. Con
+	 * refinamiento se corrige x con los residuos b - A·x, reutilizando los
+	 * factores, hasta que su norma no supere
+	 * {@value RefinamientoIterativo#TOLERANCIA_POR_DEFECTO}
+	 * 
+	 * @param refinamiento
+	 *            Forma de refinar la solución
+	 */
+	public void setRefinamiento(Refinamiento refinamiento) {
+		this.refinamiento = refinamiento;
+		this.factorizacion = null;
+		this.condicion = Double.NaN;
+		liberarCopia();
+	}
+
+	/**
+	 * Número de condición en norma uno de la matriz de coeficientes (ver
+	 * {@link EstimadorCondicion}). Indica cuántas veces puede amplificarse el
+	 * error relativo de los datos en la solución: con un valor cercano a
+	 * 1/{@value #EPSILON} o mayor, la solución puede no tener cifras correctas
+	 * aunque el residuo sea chico.
+	 * 
+	 * Se estima recién en el primer llamado, con la factorización de la última
+	 * resolución, y se conserva mientras no cambie la matriz. Cuesta algunas
+	 * resoluciones con los factores y una pasada por la matriz, lo que con
+	 * matrices en disco implica leerlas varias veces
+	 * 
+	 * @return Número de condición aproximado, o NaN si la matriz no se
+	 *         factorizó (por ejemplo al resolver por un método iterativo) o no
+	 *         pudo estimarse
+	 */
+	public double getCondicion() {
+		if (Double.isNaN(condicion) && factorizacion != null) {
+			try {
+				condicion = estimarCondicion();
+			} catch (MatrizOperationException e) {
+				// No se puede estimar, queda sin informar
+			}
+		}
+		return condicion;
+	}
+
 	// Metodos ~
 	// -----------------------------------------------------------------
+	/**
+	 * Resuelve el sistema factorizando la matriz de coeficientes, sin calcular
+	 * la inversa. Si la matriz es simétrica se intenta la factorización de
+	 * Cholesky y, si no es definida positiva, se utiliza L·U con pivoteo
+	 * parcial. La factorización se conserva, por lo que al cambiar b con setB
+	 * la siguiente resolución cuesta O(n²). Si se eligió un método iterativo
+	 * se resuelve con él; las matrices dispersas se resuelven por BiCGSTAB
+	 * salvo que se elija otro. Si el método iterativo no alcanza la tolerancia
+	 * se conserva su última aproximación con su residuo y se lanza una
+	 * excepción causada por {@link NoConvergenciaException}. Ver también
+	 * {@link #setRefinamiento(Refinamiento)}
+	 */
 	public void resolver() throws Exception {
 		try {
-			x = new VectorMath(m.inversa().producto(b));
+			if (metodoIterativo != null) {
+				x = metodoIterativo.resolver(operador, b, aproximacionInicial);
+			} else {
+				if (factorizacion == null)
+					factorizacion = factorizar();
+				x = factorizacion.resolver(b);
+				if (factorizacion instanceof RefinamientoIterativo) {
+					RefinamientoIterativo refinador = (RefinamientoIterativo) factorizacion;
+					if (!refinador.convergio() && refinador.getFactorizacion() instanceof FactorizacionLUSimple) {
+						// Los factores en precision simple no alcanzaron, repito
+						// con los de precision doble
+						factorizacion = new RefinamientoIterativo(operador, factorizarDoble());
+						condicion = Double.NaN;
+						x = factorizacion.resolver(b);
+					}
+				}
+			}
 			calcularError();
 			tieneSolucion = true;
+		} catch (NoConvergenciaException e) {
+			// El sistema puede tener solucion, conservo la aproximacion y su
+			// residuo
+			x = e.getAproximacion();
+			error = e.getResiduo();
+			tieneSolucion = true;
+			throw new SELException("El metodo iterativo no alcanzo la tolerancia", e);
 		} catch (MatrizOperationException e) {
 			tieneSolucion = false;
 			throw new SELException("El sistema de ecuaciones no tiene solución", e);
+		} catch (IOException e) {
+			tieneSolucion = false;
+			throw new SELException(e);
+		}
+	}
+
+	private Factorizacion factorizar() throws MatrizOperationException, IOException {
+		if (refinamiento == Refinamiento.NINGUNO)
+			return factorizarDoble();
+
+		Factorizacion factores = null;
+		if (refinamiento == Refinamiento.SIMPLE && m != null) {
+			try {
+				factores = new TrianguladorLUSimple().factorizar(m);
+			} catch (MatrizOperationException e) {
+				// No es representable o es singular en precision simple
+			}
+		}
+		if (factores == null)
+			factores = factorizarDoble();
+		return new RefinamientoIterativo(operador, factores);
+	}
+
+	/**
+	 * Estima el número de condición con los factores, en O(n²). Con
+	 * refinamiento se utilizan los factores sin refinar, que alcanzan para una
+	 * estimación
+	 */
+	private double estimarCondicion() throws MatrizOperationException {
+		Factorizacion factores = factorizacion;
+		if (factores instanceof RefinamientoIterativo)
+			factores = ((RefinamientoIterativo) factores).getFactorizacion();
+		return new EstimadorCondicion().estimar(operador, factores);
+	}
+
+	private Factorizacion factorizarDoble() throws MatrizOperationException, IOException {
+		if (enDisco != null) {
+			// La factorizacion sobreescribe la matriz, que todavia se necesita
+			// para calcular el error, por lo que se factoriza una copia en un
+			// archivo temporal junto al original
+			liberarCopia();
+			File directorio = new File(enDisco.getArchivo()).getAbsoluteFile().getParentFile();
+			File temporal = File.createTempFile("sel", ".lu", directorio);
+			temporal.deleteOnExit();
+			archivoCopia = temporal;
+			try {
+				copiaEnDisco = enDisco.copiar(temporal.getPath());
+				return copiaEnDisco.factorizarLU();
+			} catch (MatrizOperationException e) {
+				liberarCopia();
+				throw e;
+			} catch (IOException e) {
+				liberarCopia();
+				throw e;
+			}
+		}
+		if (m == null)
+			throw new MatrizOperationException("Las matrices dispersas requieren un metodo iterativo");
+		if (m.esSimetrica()) {
+			try {
+				return m.factorizarCholesky();
+			} catch (MatrizOperationException e) {
+				// No es definida positiva, se resuelve por L·U
+			}
+		}
+		return m.factorizarLU();
+	}
+
+	/**
+	 * Cierra y borra la copia temporal de la matriz en disco, si existe
+	 */
+	private void liberarCopia() {
+		if (copiaEnDisco != null) {
+			try {
+				copiaEnDisco.close();
+			} catch (IOException e) {
+				// El archivo se borra igualmente, no importa lo que no se
+				// haya escrito
+			}
+			copiaEnDisco = null;
+		}
+		if (archivoCopia != null) {
+			archivoCopia.delete();
+			archivoCopia = null;
 		}
 	}
 
+	/**
+	 * Borra la copia temporal que se factoriza en los sistemas con matriz en
+	 * disco. Luego de cerrar el sistema puede volver a resolverse, y la
+	 * matriz se vuelve a factorizar
+	 */
+	@Override
+	public void close() {
+		if (copiaEnDisco != null)
+			factorizacion = null;
+		liberarCopia();
+	}
+
 	public boolean test() throws Exception {
 		return calcularError() < EPSILON;
 	}
 
 	public double calcularError() throws Exception {
-		VectorMath aprox = new VectorMath(m.producto(x));
-		error = b.restar(aprox).normaDos();
+		error = operador.normaResiduo(x, b);
 		return error;
 	}
 
@@ -152,9 +552,9 @@ public class SEL {
 		StringBuilder sb = new StringBuilder();
 		if(tieneSolucion) {
 			int dim = this.getX().getDimension();
-			sb.append(dim + "\n");
+			sb.append(dim).append('\n');
 			for (int i = 0; i < dim; i++)
-				sb.append("x" + i + " = " + x.get(i) + "\n");
+				sb.append('x').append(i).append(" = ").append(x.get(i)).append('\n');
 			sb.append(this.getError());
 		} else {
 			sb.append("EL SISTEMA NO TIENE SOLUCION");
@@ -162,62 +562,84 @@ public class SEL {
 		return sb.toString();
 	}
 
-	public void toFile(String file) throws SELException {
-		FileWriter fw = null;
-		PrintWriter out = null;
+	/**
+	 * Escribe el resultado con el mismo formato que toString, seguido de un
+	 * salto de línea, sin construir el texto completo en memoria
+	 * 
+	 * @param out
+	 *            Destino del resultado
+	 */
+	public void escribirResultado(EscritorNumeros out) throws IOException {
+		if (tieneSolucion) {
+			double[] valores = x.getValores();
+			out.escribir(valores.length).escribir('\n');
+			for (int i = 0; i < valores.length; i++)
+				out.escribir('x').escribir(i).escribir(" = ").escribir(valores[i]).escribir('\n');
+			out.escribir(error);
+		} else {
+			out.escribir("EL SISTEMA NO TIENE SOLUCION");
+		}
+		out.nuevaLinea();
+	}
 
+	public void toFile(String file) throws SELException {
+		EscritorNumeros out = null;
 		try {
-			fw = new FileWriter(file);
-			out = new PrintWriter(fw);
-			out.println(this);
+			out = new EscritorNumeros(new FileOutputStream(file));
+			escribirResultado(out);
 		} catch (Exception e) {
 			throw new SELException(e);
 		} finally {
 			try {
-				if (fw != null)
-					fw.close();
+				if (out != null)
+					out.close();
 			} catch (IOException e) {
 				throw new SELException(e);
 			}
 		}
 	}
 
+	/**
+	 * Guarda el vector solución en formato binario (ver {@link FormatoBinario})
+	 * 
+	 * @param file
+	 *            Ubicacion del archivo
+	 */
+	public void toFileBinario(String file) throws SELException {
+		if (!tieneSolucion)
+			throw new SELException("El sistema de ecuaciones no tiene solución");
+		try {
+			FormatoBinario.escribir(file, x);
+		} catch (IOException e) {
+			throw new SELException(e);
+		}
+	}
+
+	/**
+	 * Guarda la matriz de coeficientes y el vector b en formato binario, para
+	 * que las siguientes lecturas no tengan que interpretar texto
+	 * 
+	 * @param file
+	 *            Ubicacion del archivo
+	 */
+	public void guardarBinario(String file) throws SELException {
+		if (m == null)
+			throw new SELException("Solamente se pueden guardar sistemas con matriz densa");
+		try {
+			FormatoBinario.escribir(file, m, b);
+		} catch (IOException e) {
+			throw new SELException(e);
+		}
+	}
+
 	// Test ~
 	// -----------------------------------------------------------------
+	/**
+	 * Resuelve los sistemas de test/input y escribe los resultados en
+	 * test/output real (ver {@link EjecutorSEL})
+	 */
 	public static void main(String[] args) {
-		double inicio, fin;
-		try {
-			// Abro carpeta test/input
-			File directorio = new File("test/input");
-			String nombre;
-			// Recorro los archivos uno a uno
-			for (File archivo : directorio.listFiles()) {
-				
-				// Obtengo el nombre del archivo
-				nombre = archivo.getName();
-				
-				// Abro el archivo de entrada
-				SEL test = new SEL("test/input/" + nombre);
-				
-				// Ejecuto la prueba
-				inicio = System.currentTimeMillis();
-				try{
-					test.resolver();
-				} catch (Exception e) {
-					e.printStackTrace();
-				}
-				fin = System.currentTimeMillis();
-				
-				// Escribo el archivo de salida
-				nombre = nombre.split("\\.")[0];
-				test.toFile("test/output real/" + nombre + ".out");
-				
-				// Muestro tiempo utilizado
-				System.out.println(nombre + ": " + (fin - inicio) + " ms");
-			}
-		} catch (Exception e) {
-			e.printStackTrace();
-		}
+		EjecutorSEL.main(new String[] { "test/input", "test/output real" });
 	}
 
 }
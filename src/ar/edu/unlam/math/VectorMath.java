@@ -4,8 +4,11 @@ import java.util.Arrays;
 
 import ar.edu.unlam.math.exception.MatrizOperationException;
 import ar.edu.unlam.math.exception.VectorDimensionException;
+import ar.edu.unlam.math.nucleo.Nucleo;
 
 public class VectorMath {
+	private static final Nucleo NUCLEO = Nucleo.getInstancia();
+
 	// Atributos ~
 	// -------------------------------------------------------
 	private double[] valores;
@@ -38,6 +41,17 @@ public class VectorMath {
 
 	}
 
+	/**
+	 * Crea un vector nulo de la dimension indicada
+	 * 
+	 * @param dimension
+	 *            cantidad de componentes
+	 * @return Vector con todas sus componentes en cero
+	 */
+	public static VectorMath ceros(int dimension) {
+		return nuevo(new double[dimension]);
+	}
+
 	// Getters & Setters ~
 	// -------------------------------------------------------
 	public double[] getValores() {
@@ -89,7 +103,7 @@ public class VectorMath {
 		for (int i = 0; i < dimension; i++)
 			resultado[i] = valores[i] + vector[i];
 
-		return new VectorMath(resultado);
+		return nuevo(resultado);
 	}
 
 	/***
@@ -112,7 +126,84 @@ public class VectorMath {
 		for (int i = 0; i < dimension; i++)
 			resultado[i] = valores[i] - vector[i];
 
-		return new VectorMath(resultado);
+		return nuevo(resultado);
+	}
+
+	/***
+	 * Suma v2 a este vector, sin crear otro
+	 * 
+	 * @param v2
+	 *            Vector a sumar
+	 * @return Este vector, con el resultado de la suma
+	 * @throws VectorDimensionException
+	 *             En caso de que la dimesion de los vectores sea distinta
+	 */
+	public VectorMath sumarEn(VectorMath v2) throws VectorDimensionException {
+		return axpy(1, v2);
+	}
+
+	/***
+	 * Resta v2 a este vector, sin crear otro
+	 * 
+	 * @param v2
+	 *            Vector a restar
+	 * @return Este vector, con el resultado de la resta
+	 * @throws VectorDimensionException
+	 *             En caso de que la dimesion de los vectores sea distinta
+	 */
+	public VectorMath restarEn(VectorMath v2) throws VectorDimensionException {
+		return axpy(-1, v2);
+	}
+
+	/***
+	 * Suma a este vector el vector v2 multiplicado por a (y = y + a·x), en un
+	 * solo recorrido y sin crear otro vector
+	 * 
+	 * @param a
+	 *            Numero real por el que se multiplica v2
+	 * @param v2
+	 *            Vector a sumar
+	 * @return Este vector, con el resultado
+	 * @throws VectorDimensionException
+	 *             En caso de que la dimesion de los vectores sea distinta
+	 */
+	public VectorMath axpy(double a, VectorMath v2) throws VectorDimensionException {
+		int dimension = v2.getDimension();
+		if (this.getDimension() != dimension)
+			throw new VectorDimensionException(
+					"Para sumar es necesario que la dimensión de los vectores sean iguales");
+
+		NUCLEO.axpy(a, v2.getValores(), 0, valores, 0, dimension);
+		return this;
+	}
+
+	/***
+	 * Multiplica este vector por un número real, sin crear otro
+	 * 
+	 * @param n
+	 *            Numero real por el que se multiplica
+	 * @return Este vector, con el resultado del producto
+	 */
+	public VectorMath multiplicarEn(double n) {
+		NUCLEO.escalar(n, valores, 0, valores.length);
+		return this;
+	}
+
+	/***
+	 * Copia en este vector los valores de v2, sin crear otro arreglo
+	 * 
+	 * @param v2
+	 *            Vector a copiar
+	 * @return Este vector
+	 * @throws VectorDimensionException
+	 *             En caso de que la dimesion de los vectores sea distinta
+	 */
+	public VectorMath copiar(VectorMath v2) throws VectorDimensionException {
+		if (this.getDimension() != v2.getDimension())
+			throw new VectorDimensionException(
+					"Para copiar es necesario que la dimensión de los vectores sean iguales");
+		System.arraycopy(v2.getValores(), 0, valores, 0, valores.length);
+		return this;
 	}
 
 	/***
@@ -154,12 +245,7 @@ public class VectorMath {
 			throw new VectorDimensionException(
 					"Para realizar el producto interno es necesario que la dimensión de los vectores sean iguales");
 
-		double[] vector = v2.getValores();
-		double resultado = 0;
-		for (int i = 0; i < dimension; i++)
-			resultado += valores[i] * vector[i];
-
-		return resultado;
+		return NUCLEO.producto(valores, 0, v2.getValores(), 0, dimension);
 	}
 
 	/***
@@ -174,7 +260,7 @@ public class VectorMath {
 		double[] resultado = new double[dimension];
 		for (int i = 0; i < dimension; i++)
 			resultado[i] = valores[i] * n;
-		return new VectorMath(resultado);
+		return nuevo(resultado);
 	}
 
 	/***
@@ -207,10 +293,7 @@ public class VectorMath {
 	 * @return Resultado de aplicar la norma uno del vector
 	 */
 	public double normaUno() {
-		double resultado = 0;
-		for (double valor : valores)
-			resultado += Math.abs(valor);
-		return resultado;
+		return NUCLEO.sumaAbsolutos(valores, 0, valores.length);
 	}
 
 	/***
@@ -219,10 +302,7 @@ public class VectorMath {
 	 * @return Resultado de aplicar la norma dos del vector
 	 */
 	public double normaDos() {
-		double resultado = 0;
-		for (double valor : valores)
-			resultado += valor * valor;
-		return Math.sqrt(resultado);
+		return Math.sqrt(NUCLEO.sumaCuadrados(valores, 0, valores.length));
 	}
 
 	/***
@@ -231,13 +311,33 @@ public class VectorMath {
 	 * @return Resultado de aplicar la norma infinito del vector
 	 */
 	public double normaInfinito() {
-		double maximo = 0;
-		for (double valor : valores) {
-			valor = Math.abs(valor);
-			if (valor > maximo)
-				maximo = valor;
-		}
-		return maximo;
+		return NUCLEO.maximoAbsoluto(valores, 0, valores.length);
+	}
+
+	/***
+	 * Calcula la norma dos del residuo ||this - A·x|| fila por fila, sin
+	 * guardar el producto A·x
+	 * 
+	 * @param a
+	 *            Matriz de coeficientes
+	 * @param x
+	 *            Aproximación de la solución
+	 * @return Norma dos del residuo
+	 * @throws MatrizOperationException
+	 *             Las dimensiones de la matriz deben coincidir con las de x y
+	 *             este vector
+	 */
+	public double normaResiduo(OperadorLineal a, VectorMath x) throws MatrizOperationException {
+		return a.normaResiduo(x, this);
+	}
+
+	/**
+	 * Crea un vector que utiliza el arreglo indicado, sin copiarlo
+	 */
+	private static VectorMath nuevo(double[] valores) {
+		VectorMath v = new VectorMath();
+		v.valores = valores;
+		return v;
 	}
 
 	@Override
@@ -398,6 +498,58 @@ public class VectorMath {
 			e.printStackTrace();
 		}
 
+		// Test operaciones en el lugar ~
+		// -----------------------------------------------------------------------------------
+		try {
+			System.out.println();
+			System.out.println("Operaciones en el lugar");
+			System.out.println("ceros(3): " + VectorMath.ceros(3) + " / ESPERADO (0,0,0)");
+			VectorMath v3 = v1.clone();
+			System.out.println("v3 = v1.clone()");
+			System.out.println("v3 += v2: " + v3.sumarEn(v2) + " / ESPERADO (13,4,8)");
+			System.out.println("v3 -= v2: " + v3.restarEn(v2) + " / ESPERADO (3,2,5)");
+			System.out.println("v3 += 2·v2: " + v3.axpy(2, v2) + " / ESPERADO (23,6,11)");
+			System.out.println("v3 *= 0.5: " + v3.multiplicarEn(0.5) + " / ESPERADO (11.5,3,5.5)");
+			System.out.println("v3 <- v1: " + v3.copiar(v1) + " / ESPERADO (3,2,5)");
+			System.out.println("v1: " + v1 + " / ESPERADO (3,2,5)");
+			System.out.println("v2: " + v2 + " / ESPERADO (10,2,3)");
+		} catch (Exception e) {
+			e.printStackTrace();
+		}
+		try {
+			System.out.println("v1 += 2·v0: ");
+			System.out.println(v1.clone().axpy(2, v0) + " / ESPERADO VectorDimensionException");
+		} catch (VectorDimensionException e) {
+			System.out.println("VectorDimensionException");
+		}
+		try {
+			System.out.println("v1 <- v0: ");
+			System.out.println(v1.clone().copiar(v0) + " / ESPERADO VectorDimensionException");
+		} catch (VectorDimensionException e) {
+			System.out.println("VectorDimensionException");
+		}
+
+		// Test norma del residuo ~
+		// -----------------------------------------------------------------------------------
+		try {
+			System.out.println();
+			System.out.println("Norma del residuo");
+			MatrizMath a = new MatrizMath(new double[][] { { 2, 0, 0 }, { 0, 1, 0 }, { 0, 0, 1 } });
+			System.out.println("||v1 - A·(1,2,5)||: " + v1.normaResiduo(a, new VectorMath(1, 2, 5))
+					+ " / ESPERADO 1");
+			System.out.println("||v2 - A·(5,2,3)||: " + v2.normaResiduo(a, new VectorMath(5, 2, 3))
+					+ " / ESPERADO 0");
+		} catch (Exception e) {
+			e.printStackTrace();
+		}
+		try {
+			System.out.println("||v0 - A·v1||: ");
+			MatrizMath a = new MatrizMath(new double[][] { { 2, 0, 0 }, { 0, 1, 0 }, { 0, 0, 1 } });
+			System.out.println(v0.normaResiduo(a, v1) + " / ESPERADO MatrizOperationException");
+		} catch (MatrizOperationException e) {
+			System.out.println("MatrizOperationException");
+		}
+
 		// Test producto equals ~
 		// -----------------------------------------------------------------------------------
 		try {
@@ -0,0 +1,42 @@
+package ar.edu.unlam.math.exception;
+
+import ar.edu.unlam.math.VectorMath;
+
+/**
+ * Un método iterativo alcanzó la cantidad máxima de iteraciones o se estancó
+ * sin llegar a la tolerancia. No significa que el sistema no tenga solución:
+ * conserva la última aproximación y la norma de su residuo.
+ */
+public class NoConvergenciaException extends MatrizOperationException {
+	private final VectorMath aproximacion;
+	private final double residuo;
+	private final int iteraciones;
+
+	public NoConvergenciaException(String mensaje, VectorMath aproximacion, double residuo, int iteraciones) {
+		super(mensaje);
+		this.aproximacion = aproximacion;
+		this.residuo = residuo;
+		this.iteraciones = iteraciones;
+	}
+
+	/**
+	 * @return Última aproximación de la solución
+	 */
+	public VectorMath getAproximacion() {
+		return aproximacion;
+	}
+
+	/**
+	 * @return Norma dos del residuo b - A·x de la última aproximación
+	 */
+	public double getResiduo() {
+		return residuo;
+	}
+
+	public int getIteraciones() {
+		return iteraciones;
+	}
+
+	private static final long serialVersionUID = 1L;
+
+}
@@ -0,0 +1,57 @@
+package ar.edu.unlam.math.factorizacion;
+
+import ar.edu.unlam.math.MatrizMath;
+import ar.edu.unlam.math.VectorMath;
+import ar.edu.unlam.math.exception.MatrizOperationException;
+
+/**
+ * Resultado de factorizar una matriz de coeficientes A. Se obtiene una sola vez
+ * en O(n³) y luego puede reutilizarse para resolver A·x = b con tantos términos
+ * independientes como se desee, cada uno en O(n²).
+ * 
+ * @author yoni
+ * 
+ */
+public interface Factorizacion {
+	/**
+	 * Resuelve el sistema A·x = b
+	 * 
+	 * @param b
+	 *            Vector de términos independientes
+	 * @return Vector solución x
+	 * @throws MatrizOperationException
+	 *             La dimensión de b debe coincidir con el número de filas de A
+	 */
+	public VectorMath resolver(VectorMath b) throws MatrizOperationException;
+
+	/**
+	 * Resuelve el sistema A·X = B para todas las columnas de B a la vez
+	 * 
+	 * @param b
+	 *            Matriz cuyas columnas son los términos independientes
+	 * @return Matriz cuyas columnas son las soluciones
+	 * @throws MatrizOperationException
+	 *             El número de filas de B debe coincidir con el de A
+	 */
+	public MatrizMath resolver(MatrizMath b) throws MatrizOperationException;
+
+	/**
+	 * Resuelve el sistema transpuesto A^T·x = b con los mismos factores, también
+	 * en O(n²)
+	 * 
+	 * @param b
+	 *            Vector de términos independientes
+	 * @return Vector solución x
+	 * @throws MatrizOperationException
+	 *             A debe ser cuadrada y la dimensión de b debe coincidir con
+	 *             la de A
+	 */
+	public VectorMath resolverTranspuesta(VectorMath b) throws MatrizOperationException;
+
+	/**
+	 * Devuelve la dimensión de la matriz factorizada
+	 * 
+	 * @return Número de filas y de columnas de A
+	 */
+	public int[] getDimension();
+}
@@ -0,0 +1,132 @@
+package ar.edu.unlam.math.factorizacion;
+
+import ar.edu.unlam.math.MatrizMath;
+import ar.edu.unlam.math.VectorMath;
+import ar.edu.unlam.math.exception.MatrizOperationException;
+import ar.edu.unlam.math.nucleo.Nucleo;
+
+/**
+ * Factorización A = L·L^T de una matriz simétrica definida positiva. Solamente
+ * se guarda el triángulo inferior de L, fila por fila: la fila i comienza en la
+ * posición i·(i+1)/2 y tiene i+1 elementos.
+ * 
+ * @author yoni
+ * 
+ */
+public class FactorizacionCholesky implements Factorizacion {
+	private static final Nucleo NUCLEO = Nucleo.getInstancia();
+
+	// Atributos ~
+	// -----------------------------------------------------------------
+	/**
+	 * Triángulo inferior de L empaquetado por filas
+	 */
+	private double[] l;
+	/**
+	 * Dimensión de la matriz factorizada
+	 */
+	private int n;
+
+	// Constructores ~
+	// -----------------------------------------------------------------
+	public FactorizacionCholesky(double[] l, int n) {
+		this.l = l;
+		this.n = n;
+	}
+
+	// Getters and setters ~
+	// -----------------------------------------------------------------
+	/**
+	 * Devuelve el factor L como matriz completa
+	 */
+	public MatrizMath getL() {
+		double[] valores = new double[n * n];
+		for (int i = 0; i < n; i++)
+			System.arraycopy(l, i * (i + 1) / 2, valores, i * n, i + 1);
+		return new MatrizMath(n, n, valores);
+	}
+
+	@Override
+	public int[] getDimension() {
+		return new int[] { n, n };
+	}
+
+	// Metodos ~
+	// -----------------------------------------------------------------
+	@Override
+	public VectorMath resolver(VectorMath b) throws MatrizOperationException {
+		if (b.getDimension() != n)
+			throw new MatrizOperationException(
+					"Para resolver la dimension del vector debe coincidir con la dimension de la matriz");
+
+		// Resuelvo L·y = b (sustitucion hacia adelante)
+		double[] x = b.getValores().clone();
+		for (int i = 0; i < n; i++) {
+			int fila = i * (i + 1) / 2;
+			double suma = x[i] - NUCLEO.producto(l, fila, x, 0, i);
+			x[i] = suma / l[fila + i];
+		}
+
+		// Resuelvo L^T·x = y recorriendo L por filas
+		for (int i = n - 1; i >= 0; i--) {
+			int fila = i * (i + 1) / 2;
+			double valor = x[i] / l[fila + i];
+			x[i] = valor;
+			NUCLEO.axpy(-valor, l, fila, x, 0, i);
+		}
+
+		return new VectorMath(x);
+	}
+
+	/**
+	 * A es simétrica, por lo que A^T·x = b es el mismo sistema
+	 */
+	@Override
+	public VectorMath resolverTranspuesta(VectorMath b) throws MatrizOperationException {
+		return resolver(b);
+	}
+
+	@Override
+	public MatrizMath resolver(MatrizMath b) throws MatrizOperationException {
+		int[] size = b.getDimension();
+		if (size[0] != n)
+			throw new MatrizOperationException(
+					"Para resolver el numero de filas de la matriz debe coincidir con la dimension de la matriz");
+		int k = size[1];
+		double[] x = b.getValores().clone();
+
+		for (int i = 0; i < n; i++) {
+			int fila = i * (i + 1) / 2;
+			int filaX = i * k;
+			for (int j = 0; j < i; j++) {
+				double factor = l[fila + j];
+				if (factor != 0) {
+					int filaJ = j * k;
+					for (int c = 0; c < k; c++)
+						x[filaX + c] -= factor * x[filaJ + c];
+				}
+			}
+			double pivote = l[fila + i];
+			for (int c = 0; c < k; c++)
+				x[filaX + c] /= pivote;
+		}
+
+		for (int i = n - 1; i >= 0; i--) {
+			int fila = i * (i + 1) / 2;
+			int filaX = i * k;
+			double pivote = l[fila + i];
+			for (int c = 0; c < k; c++)
+				x[filaX + c] /= pivote;
+			for (int j = 0; j < i; j++) {
+				double factor = l[fila + j];
+				if (factor != 0) {
+					int filaJ = j * k;
+					for (int c = 0; c < k; c++)
+						x[filaJ + c] -= factor * x[filaX + c];
+				}
+			}
+		}
+
+		return new MatrizMath(n, k, x);
+	}
+}
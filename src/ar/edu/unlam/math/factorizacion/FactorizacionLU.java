@@ -0,0 +1,164 @@
+package ar.edu.unlam.math.factorizacion;
+
+import ar.edu.unlam.math.MatrizMath;
+import ar.edu.unlam.math.VectorMath;
+import ar.edu.unlam.math.exception.MatrizOperationException;
+import ar.edu.unlam.math.nucleo.Nucleo;
+
+/**
+ * Factorización P·A = L·U. L (con unos en la diagonal) y U se guardan juntas en
+ * una única matriz, ordenada por filas.
+ * 
+ * @author yoni
+ * 
+ */
+public class FactorizacionLU implements Factorizacion {
+	private static final Nucleo NUCLEO = Nucleo.getInstancia();
+
+	// Atributos ~
+	// -----------------------------------------------------------------
+	/**
+	 * L debajo de la diagonal y U en la diagonal y por encima, fila por fila
+	 */
+	private double[] lu;
+	/**
+	 * La fila i de LU corresponde a la fila permutacion[i] de la matriz original
+	 */
+	private int[] permutacion;
+	/**
+	 * Dimensión de la matriz factorizada
+	 */
+	private int n;
+
+	// Constructores ~
+	// -----------------------------------------------------------------
+	public FactorizacionLU(double[] lu, int[] permutacion) {
+		this.lu = lu;
+		this.permutacion = permutacion;
+		this.n = permutacion.length;
+	}
+
+	// Getters and setters ~
+	// -----------------------------------------------------------------
+	public MatrizMath getLU() {
+		return new MatrizMath(n, n, lu.clone());
+	}
+
+	public int[] getPermutacion() {
+		return permutacion;
+	}
+
+	/**
+	 * @return Diagonal de U, cuyo producto es el determinante salvo el signo
+	 *         de la permutación
+	 */
+	public double[] getDiagonal() {
+		double[] diagonal = new double[n];
+		for (int i = 0; i < n; i++)
+			diagonal[i] = lu[i * n + i];
+		return diagonal;
+	}
+
+	@Override
+	public int[] getDimension() {
+		return new int[] { n, n };
+	}
+
+	// Metodos ~
+	// -----------------------------------------------------------------
+	@Override
+	public VectorMath resolver(VectorMath b) throws MatrizOperationException {
+		if (b.getDimension() != n)
+			throw new MatrizOperationException(
+					"Para resolver la dimension del vector debe coincidir con la dimension de la matriz");
+
+		// Aplico la permutacion y resuelvo L·y = P·b (sustitucion hacia adelante)
+		double[] x = new double[n];
+		for (int i = 0; i < n; i++) {
+			int fila = i * n;
+			x[i] = b.get(permutacion[i]) - NUCLEO.producto(lu, fila, x, 0, i);
+		}
+
+		// Resuelvo U·x = y (sustitucion hacia atras)
+		for (int i = n - 1; i >= 0; i--) {
+			int fila = i * n;
+			double suma = x[i] - NUCLEO.producto(lu, fila + i + 1, x, i + 1, n - i - 1);
+			x[i] = suma / lu[fila + i];
+		}
+
+		return new VectorMath(x);
+	}
+
+	/**
+	 * Como A = P^T·L·U, resuelve U^T·y = b, luego L^T·z = y y finalmente
+	 * deshace la permutacion. Ambas sustituciones recorren LU por filas
+	 */
+	@Override
+	public VectorMath resolverTranspuesta(VectorMath b) throws MatrizOperationException {
+		if (b.getDimension() != n)
+			throw new MatrizOperationException(
+					"Para resolver la dimension del vector debe coincidir con la dimension de la matriz");
+
+		// Resuelvo U^T·y = b: la fila i de U es la columna i de U^T
+		double[] z = b.getValores().clone();
+		for (int i = 0; i < n; i++) {
+			int fila = i * n;
+			double valor = z[i] / lu[fila + i];
+			z[i] = valor;
+			NUCLEO.axpy(-valor, lu, fila + i + 1, z, i + 1, n - i - 1);
+		}
+
+		// Resuelvo L^T·z = y, L tiene unos en la diagonal
+		for (int i = n - 1; i > 0; i--)
+			NUCLEO.axpy(-z[i], lu, i * n, z, 0, i);
+
+		double[] x = new double[n];
+		for (int i = 0; i < n; i++)
+			x[permutacion[i]] = z[i];
+		return new VectorMath(x);
+	}
+
+	@Override
+	public MatrizMath resolver(MatrizMath b) throws MatrizOperationException {
+		int[] size = b.getDimension();
+		if (size[0] != n)
+			throw new MatrizOperationException(
+					"Para resolver el numero de filas de la matriz debe coincidir con la dimension de la matriz");
+		int k = size[1];
+		double[] valoresB = b.getValores();
+
+		// Trabajo por filas completas de X para recorrer la memoria en orden
+		double[] x = new double[n * k];
+		for (int i = 0; i < n; i++) {
+			int filaX = i * k;
+			System.arraycopy(valoresB, permutacion[i] * k, x, filaX, k);
+			int fila = i * n;
+			for (int j = 0; j < i; j++) {
+				double factor = lu[fila + j];
+				if (factor != 0) {
+					int filaJ = j * k;
+					for (int c = 0; c < k; c++)
+						x[filaX + c] -= factor * x[filaJ + c];
+				}
+			}
+		}
+
+		for (int i = n - 1; i >= 0; i--) {
+			int filaX = i * k;
+			int fila = i * n;
+			for (int j = i + 1; j < n; j++) {
+				double factor = lu[fila + j];
+				if (factor != 0) {
+					int filaJ = j * k;
+					for (int c = 0; c < k; c++)
+						x[filaX + c] -= factor * x[filaJ + c];
+				}
+			}
+			double pivote = lu[fila + i];
+			for (int c = 0; c < k; c++)
+				x[filaX + c] /= pivote;
+		}
+
+		return new MatrizMath(n, k, x);
+	}
+}
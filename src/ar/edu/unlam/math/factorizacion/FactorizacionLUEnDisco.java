@@ -0,0 +1,209 @@
+package ar.edu.unlam.math.factorizacion;
+
+import ar.edu.unlam.math.MatrizEnDisco;
+import ar.edu.unlam.math.MatrizMath;
+import ar.edu.unlam.math.VectorMath;
+import ar.edu.unlam.math.exception.MatrizOperationException;
+
+/**
+ * Factorización P·A = L·U guardada en una {@link MatrizEnDisco}. Las
+ * sustituciones recorren L y U bloque por bloque, por lo que cada resolución
+ * lee la matriz completa una vez.
+ *
+ * @author yoni
+ *
+ */
+public class FactorizacionLUEnDisco implements Factorizacion {
+	// Atributos ~
+	// -----------------------------------------------------------------
+	/**
+	 * L debajo de la diagonal y U en la diagonal y por encima
+	 */
+	private MatrizEnDisco lu;
+	/**
+	 * La fila i de LU corresponde a la fila permutacion[i] de la matriz original
+	 */
+	private int[] permutacion;
+	private int n;
+
+	// Constructores ~
+	// -----------------------------------------------------------------
+	public FactorizacionLUEnDisco(MatrizEnDisco lu, int[] permutacion) {
+		this.lu = lu;
+		this.permutacion = permutacion;
+		this.n = permutacion.length;
+	}
+
+	// Getters and setters ~
+	// -----------------------------------------------------------------
+	public MatrizEnDisco getLU() {
+		return lu;
+	}
+
+	public int[] getPermutacion() {
+		return permutacion;
+	}
+
+	@Override
+	public int[] getDimension() {
+		return new int[] { n, n };
+	}
+
+	// Metodos ~
+	// -----------------------------------------------------------------
+	@Override
+	public VectorMath resolver(VectorMath b) throws MatrizOperationException {
+		if (b.getDimension() != n)
+			throw new MatrizOperationException(
+					"Para resolver la dimension del vector debe coincidir con la dimension de la matriz");
+
+		int tamanio = lu.getTamanioBloque();
+		int bloques = lu.getBloquesVerticales();
+		double[] x = new double[n];
+		for (int i = 0; i < n; i++)
+			x[i] = b.get(permutacion[i]);
+
+		// L·y = P·b, los bloques a la izquierda de la diagonal y luego el
+		// bloque diagonal
+		for (int bi = 0; bi < bloques; bi++) {
+			int fila = bi * tamanio;
+			int filas = Math.min(tamanio, n - fila);
+			for (int bj = 0; bj < bi; bj++) {
+				double[] l = lu.getBloque(bi, bj, false);
+				int columna = bj * tamanio;
+				for (int i = 0; i < filas; i++) {
+					double suma = 0;
+					for (int j = 0; j < tamanio; j++)
+						suma += l[i * tamanio + j] * x[columna + j];
+					x[fila + i] -= suma;
+				}
+			}
+			double[] l = lu.getBloque(bi, bi, false);
+			for (int i = 1; i < filas; i++) {
+				double suma = 0;
+				for (int j = 0; j < i; j++)
+					suma += l[i * tamanio + j] * x[fila + j];
+				x[fila + i] -= suma;
+			}
+		}
+
+		// U·x = y, de abajo hacia arriba
+		for (int bi = bloques - 1; bi >= 0; bi--) {
+			int fila = bi * tamanio;
+			int filas = Math.min(tamanio, n - fila);
+			for (int bj = bi + 1; bj < bloques; bj++) {
+				double[] u = lu.getBloque(bi, bj, false);
+				int columna = bj * tamanio;
+				int columnas = Math.min(tamanio, n - columna);
+				for (int i = 0; i < filas; i++) {
+					double suma = 0;
+					for (int j = 0; j < columnas; j++)
+						suma += u[i * tamanio + j] * x[columna + j];
+					x[fila + i] -= suma;
+				}
+			}
+			double[] u = lu.getBloque(bi, bi, false);
+			for (int i = filas - 1; i >= 0; i--) {
+				double suma = x[fila + i];
+				for (int j = i + 1; j < filas; j++)
+					suma -= u[i * tamanio + j] * x[fila + j];
+				x[fila + i] = suma / u[i * tamanio + i];
+			}
+		}
+
+		VectorMath r = new VectorMath();
+		r.setValores(x);
+		return r;
+	}
+
+	/**
+	 * Como A = P^T·L·U, resuelve U^T·y = b, luego L^T·z = y y finalmente
+	 * deshace la permutacion. Cada bloque de U y de L se lee una sola vez, y
+	 * resuelto un tramo de la solucion se resta de los tramos que dependen de
+	 * el
+	 */
+	@Override
+	public VectorMath resolverTranspuesta(VectorMath b) throws MatrizOperationException {
+		if (b.getDimension() != n)
+			throw new MatrizOperationException(
+					"Para resolver la dimension del vector debe coincidir con la dimension de la matriz");
+
+		int tamanio = lu.getTamanioBloque();
+		int bloques = lu.getBloquesVerticales();
+		double[] z = b.getValores().clone();
+
+		// U^T·y = b, el bloque diagonal y luego los bloques a su derecha
+		for (int bi = 0; bi < bloques; bi++) {
+			int fila = bi * tamanio;
+			int filas = Math.min(tamanio, n - fila);
+			double[] u = lu.getBloque(bi, bi, false);
+			for (int i = 0; i < filas; i++) {
+				double valor = z[fila + i] / u[i * tamanio + i];
+				z[fila + i] = valor;
+				for (int j = i + 1; j < filas; j++)
+					z[fila + j] -= valor * u[i * tamanio + j];
+			}
+			for (int bj = bi + 1; bj < bloques; bj++) {
+				u = lu.getBloque(bi, bj, false);
+				int columna = bj * tamanio;
+				int columnas = Math.min(tamanio, n - columna);
+				for (int i = 0; i < filas; i++) {
+					double valor = z[fila + i];
+					for (int j = 0; j < columnas; j++)
+						z[columna + j] -= valor * u[i * tamanio + j];
+				}
+			}
+		}
+
+		// L^T·z = y, de abajo hacia arriba
+		for (int bi = bloques - 1; bi >= 0; bi--) {
+			int fila = bi * tamanio;
+			int filas = Math.min(tamanio, n - fila);
+			double[] l = lu.getBloque(bi, bi, false);
+			for (int i = filas - 1; i > 0; i--) {
+				double valor = z[fila + i];
+				for (int j = 0; j < i; j++)
+					z[fila + j] -= valor * l[i * tamanio + j];
+			}
+			for (int bj = 0; bj < bi; bj++) {
+				l = lu.getBloque(bi, bj, false);
+				int columna = bj * tamanio;
+				for (int i = 0; i < filas; i++) {
+					double valor = z[fila + i];
+					for (int j = 0; j < tamanio; j++)
+						z[columna + j] -= valor * l[i * tamanio + j];
+				}
+			}
+		}
+
+		double[] x = new double[n];
+		for (int i = 0; i < n; i++)
+			x[permutacion[i]] = z[i];
+		VectorMath r = new VectorMath();
+		r.setValores(x);
+		return r;
+	}
+
+	/**
+	 * Resuelve cada columna de B por separado
+	 */
+	@Override
+	public MatrizMath resolver(MatrizMath b) throws MatrizOperationException {
+		int[] size = b.getDimension();
+		if (size[0] != n)
+			throw new MatrizOperationException(
+					"Para resolver el numero de filas de la matriz debe coincidir con la dimension de la matriz");
+		int k = size[1];
+		double[] valoresB = b.getValores();
+		double[] resultado = new double[n * k];
+		double[] columna = new double[n];
+		for (int c = 0; c < k; c++) {
+			for (int i = 0; i < n; i++)
+				columna[i] = valoresB[i * k + c];
+			double[] x = resolver(new VectorMath(columna)).getValores();
+			for (int i = 0; i < n; i++)
+				resultado[i * k + c] = x[i];
+		}
+		return new MatrizMath(n, k, resultado);
+	}
+}
@@ -0,0 +1,170 @@
+package ar.edu.unlam.math.factorizacion;
+
+import ar.edu.unlam.math.MatrizMath;
+import ar.edu.unlam.math.VectorMath;
+import ar.edu.unlam.math.exception.MatrizOperationException;
+
+/**
+ * Factorización P·A = L·U guardada en precisión simple. Ocupa la mitad de
+ * memoria que {@link FactorizacionLU} y se obtiene más rápido, pero su
+ * solución tiene solamente unos siete dígitos correctos; se utiliza junto con
+ * {@link RefinamientoIterativo}, que calcula los residuos en precisión doble.
+ * Las sustituciones se acumulan en precisión doble.
+ * 
+ * @author yoni
+ * 
+ */
+public class FactorizacionLUSimple implements Factorizacion {
+	// Atributos ~
+	// -----------------------------------------------------------------
+	/**
+	 * L debajo de la diagonal y U en la diagonal y por encima, fila por fila
+	 */
+	private float[] lu;
+	/**
+	 * La fila i de LU corresponde a la fila permutacion[i] de la matriz original
+	 */
+	private int[] permutacion;
+	/**
+	 * Dimensión de la matriz factorizada
+	 */
+	private int n;
+
+	// Constructores ~
+	// -----------------------------------------------------------------
+	public FactorizacionLUSimple(float[] lu, int[] permutacion) {
+		this.lu = lu;
+		this.permutacion = permutacion;
+		this.n = permutacion.length;
+	}
+
+	// Getters and setters ~
+	// -----------------------------------------------------------------
+	public MatrizMath getLU() {
+		double[] valores = new double[lu.length];
+		for (int i = 0; i < valores.length; i++)
+			valores[i] = lu[i];
+		return new MatrizMath(n, n, valores);
+	}
+
+	public int[] getPermutacion() {
+		return permutacion;
+	}
+
+	@Override
+	public int[] getDimension() {
+		return new int[] { n, n };
+	}
+
+	// Metodos ~
+	// -----------------------------------------------------------------
+	@Override
+	public VectorMath resolver(VectorMath b) throws MatrizOperationException {
+		if (b.getDimension() != n)
+			throw new MatrizOperationException(
+					"Para resolver la dimension del vector debe coincidir con la dimension de la matriz");
+
+		// Aplico la permutacion y resuelvo L·y = P·b (sustitucion hacia adelante)
+		double[] x = new double[n];
+		for (int i = 0; i < n; i++) {
+			int fila = i * n;
+			double suma = b.get(permutacion[i]);
+			for (int j = 0; j < i; j++)
+				suma -= lu[fila + j] * x[j];
+			x[i] = suma;
+		}
+
+		// Resuelvo U·x = y (sustitucion hacia atras)
+		for (int i = n - 1; i >= 0; i--) {
+			int fila = i * n;
+			double suma = x[i];
+			for (int j = i + 1; j < n; j++)
+				suma -= lu[fila + j] * x[j];
+			x[i] = suma / lu[fila + i];
+		}
+
+		VectorMath resultado = new VectorMath();
+		resultado.setValores(x);
+		return resultado;
+	}
+
+	/**
+	 * Como A = P^T·L·U, resuelve U^T·y = b, luego L^T·z = y y finalmente
+	 * deshace la permutacion, acumulando en precision doble
+	 */
+	@Override
+	public VectorMath resolverTranspuesta(VectorMath b) throws MatrizOperationException {
+		if (b.getDimension() != n)
+			throw new MatrizOperationException(
+					"Para resolver la dimension del vector debe coincidir con la dimension de la matriz");
+
+		// Resuelvo U^T·y = b: la fila i de U es la columna i de U^T
+		double[] z = b.getValores().clone();
+		for (int i = 0; i < n; i++) {
+			int fila = i * n;
+			double valor = z[i] / lu[fila + i];
+			z[i] = valor;
+			for (int j = i + 1; j < n; j++)
+				z[j] -= valor * lu[fila + j];
+		}
+
+		// Resuelvo L^T·z = y, L tiene unos en la diagonal
+		for (int i = n - 1; i > 0; i--) {
+			int fila = i * n;
+			double valor = z[i];
+			for (int j = 0; j < i; j++)
+				z[j] -= valor * lu[fila + j];
+		}
+
+		double[] x = new double[n];
+		for (int i = 0; i < n; i++)
+			x[permutacion[i]] = z[i];
+		VectorMath resultado = new VectorMath();
+		resultado.setValores(x);
+		return resultado;
+	}
+
+	@Override
+	public MatrizMath resolver(MatrizMath b) throws MatrizOperationException {
+		int[] size = b.getDimension();
+		if (size[0] != n)
+			throw new MatrizOperationException(
+					"Para resolver el numero de filas de la matriz debe coincidir con la dimension de la matriz");
+		int k = size[1];
+		double[] valoresB = b.getValores();
+
+		// Trabajo por filas completas de X para recorrer la memoria en orden
+		double[] x = new double[n * k];
+		for (int i = 0; i < n; i++) {
+			int filaX = i * k;
+			System.arraycopy(valoresB, permutacion[i] * k, x, filaX, k);
+			int fila = i * n;
+			for (int j = 0; j < i; j++) {
+				double factor = lu[fila + j];
+				if (factor != 0) {
+					int filaJ = j * k;
+					for (int c = 0; c < k; c++)
+						x[filaX + c] -= factor * x[filaJ + c];
+				}
+			}
+		}
+
+		for (int i = n - 1; i >= 0; i--) {
+			int filaX = i * k;
+			int fila = i * n;
+			for (int j = i + 1; j < n; j++) {
+				double factor = lu[fila + j];
+				if (factor != 0) {
+					int filaJ = j * k;
+					for (int c = 0; c < k; c++)
+						x[filaX + c] -= factor * x[filaJ + c];
+				}
+			}
+			double pivote = lu[fila + i];
+			for (int c = 0; c < k; c++)
+				x[filaX + c] /= pivote;
+		}
+
+		return new MatrizMath(n, k, x);
+	}
+}
@@ -0,0 +1,172 @@
+package ar.edu.unlam.math.factorizacion;
+
+import ar.edu.unlam.math.MatrizMath;
+import ar.edu.unlam.math.VectorMath;
+import ar.edu.unlam.math.exception.MatrizOperationException;
+
+/**
+ * Factorización A = Q·R por reflexiones de Householder. Los vectores de
+ * Householder que definen Q se guardan debajo de la diagonal y R en la diagonal
+ * y por encima. Si A tiene más filas que columnas, resolver obtiene la solución
+ * por cuadrados mínimos.
+ * 
+ * @author yoni
+ * 
+ */
+public class FactorizacionQR implements Factorizacion {
+	// Atributos ~
+	// -----------------------------------------------------------------
+	/**
+	 * Vectores de Householder debajo de la diagonal y R por encima de ella
+	 */
+	private double[][] qr;
+	/**
+	 * Diagonal de R
+	 */
+	private double[] diagonalR;
+
+	// Constructores ~
+	// -----------------------------------------------------------------
+	public FactorizacionQR(double[][] qr, double[] diagonalR) {
+		this.qr = qr;
+		this.diagonalR = diagonalR;
+	}
+
+	// Getters and setters ~
+	// -----------------------------------------------------------------
+	@Override
+	public int[] getDimension() {
+		return new int[] { qr.length, diagonalR.length };
+	}
+
+	// Metodos ~
+	// -----------------------------------------------------------------
+	@Override
+	public VectorMath resolver(VectorMath b) throws MatrizOperationException {
+		int filas = qr.length;
+		int n = diagonalR.length;
+		if (b.getDimension() != filas)
+			throw new MatrizOperationException(
+					"Para resolver la dimension del vector debe coincidir con el numero de filas de la matriz");
+
+		double[] y = b.getValores().clone();
+
+		// Calculo y = Q^T·b aplicando las reflexiones en orden
+		for (int k = 0; k < n; k++) {
+			double s = 0;
+			for (int i = k; i < filas; i++)
+				s += qr[i][k] * y[i];
+			s = -s / qr[k][k];
+			for (int i = k; i < filas; i++)
+				y[i] += s * qr[i][k];
+		}
+
+		// Resuelvo R·x = y (sustitucion hacia atras)
+		double[] x = new double[n];
+		for (int i = n - 1; i >= 0; i--) {
+			double[] fila = qr[i];
+			double suma = y[i];
+			for (int j = i + 1; j < n; j++)
+				suma -= fila[j] * x[j];
+			x[i] = suma / diagonalR[i];
+		}
+
+		return new VectorMath(x);
+	}
+
+	/**
+	 * Como A^T = R^T·Q^T, resuelve R^T·z = b y calcula x = Q·z aplicando las
+	 * reflexiones en orden inverso. Solamente para matrices cuadradas
+	 */
+	@Override
+	public VectorMath resolverTranspuesta(VectorMath b) throws MatrizOperationException {
+		int filas = qr.length;
+		int n = diagonalR.length;
+		if (filas != n)
+			throw new MatrizOperationException(
+					"No es posible resolver el sistema transpuesto de una matriz que no sea cuadrada");
+		if (b.getDimension() != n)
+			throw new MatrizOperationException(
+					"Para resolver la dimension del vector debe coincidir con la dimension de la matriz");
+
+		// Resuelvo R^T·z = b: la fila i de R es la columna i de R^T
+		double[] x = b.getValores().clone();
+		for (int i = 0; i < n; i++) {
+			double[] fila = qr[i];
+			double valor = x[i] / diagonalR[i];
+			x[i] = valor;
+			for (int j = i + 1; j < n; j++)
+				x[j] -= valor * fila[j];
+		}
+
+		// Calculo x = Q·z aplicando las reflexiones de la ultima a la primera
+		for (int k = n - 1; k >= 0; k--) {
+			double s = 0;
+			for (int i = k; i < n; i++)
+				s += qr[i][k] * x[i];
+			s = -s / qr[k][k];
+			for (int i = k; i < n; i++)
+				x[i] += s * qr[i][k];
+		}
+
+		return new VectorMath(x);
+	}
+
+	@Override
+	public MatrizMath resolver(MatrizMath b) throws MatrizOperationException {
+		int filas = qr.length;
+		int n = diagonalR.length;
+		int[] size = b.getDimension();
+		if (size[0] != filas)
+			throw new MatrizOperationException(
+					"Para resolver el numero de filas de la matriz debe coincidir con el numero de filas de la matriz factorizada");
+		int k = size[1];
+
+		double[][] y = new double[filas][];
+		for (int i = 0; i < filas; i++) {
+			y[i] = new double[k];
+			for (int c = 0; c < k; c++)
+				y[i][c] = b.get(i, c);
+		}
+
+		// Calculo Y = Q^T·B aplicando cada reflexion a todas las columnas
+		double[] s = new double[k];
+		for (int j = 0; j < n; j++) {
+			for (int c = 0; c < k; c++)
+				s[c] = 0;
+			for (int i = j; i < filas; i++) {
+				double v = qr[i][j];
+				if (v != 0)
+					for (int c = 0; c < k; c++)
+						s[c] += v * y[i][c];
+			}
+			double pivote = qr[j][j];
+			for (int c = 0; c < k; c++)
+				s[c] = -s[c] / pivote;
+			for (int i = j; i < filas; i++) {
+				double v = qr[i][j];
+				if (v != 0)
+					for (int c = 0; c < k; c++)
+						y[i][c] += s[c] * v;
+			}
+		}
+
+		// Resuelvo R·X = Y (sustitucion hacia atras)
+		double[][] x = new double[n][];
+		for (int i = n - 1; i >= 0; i--) {
+			double[] filaX = y[i];
+			double[] fila = qr[i];
+			for (int j = i + 1; j < n; j++) {
+				double factor = fila[j];
+				if (factor != 0)
+					for (int c = 0; c < k; c++)
+						filaX[c] -= factor * x[j][c];
+			}
+			for (int c = 0; c < k; c++)
+				filaX[c] /= diagonalR[i];
+			x[i] = filaX;
+		}
+
+		return new MatrizMath(x);
+	}
+}
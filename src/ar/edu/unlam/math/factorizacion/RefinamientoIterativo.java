@@ -0,0 +1,206 @@
+package ar.edu.unlam.math.factorizacion;
+
+import ar.edu.unlam.math.MatrizMath;
+import ar.edu.unlam.math.OperadorLineal;
+import ar.edu.unlam.math.VectorMath;
+import ar.edu.unlam.math.exception.MatrizOperationException;
+import ar.edu.unlam.math.nucleo.Nucleo;
+
+/**
+ * Mejora la solución de otra factorización por refinamiento iterativo: calcula
+ * el residuo r = b - A·x en precisión doble con la matriz original, resuelve
+ * A·d = r con los mismos factores y corrige x = x + d, hasta que la norma del
+ * residuo no supere la tolerancia. Cada paso cuesta O(n²), por lo que con
+ * factores en precisión simple ({@link FactorizacionLUSimple}) se obtiene la
+ * exactitud de precisión doble a un costo cercano al de factorizar en simple.
+ *
+ * Si una corrección no reduce el residuo se descarta y el refinamiento se
+ * detiene, así la solución nunca empeora respecto de la de los factores. Se
+ * considera que converge aunque no alcance la tolerancia si el residuo llegó
+ * al límite del redondeo de precisión doble, √n·ε·||A||·||x|| (el criterio de
+ * LAPACK para refinar factores en precisión simple); si se detiene por encima
+ * de ese límite los factores no alcanzan para refinar esta matriz.
+ *
+ * @author yoni
+ *
+ */
+public class RefinamientoIterativo implements Factorizacion {
+	private static final Nucleo NUCLEO = Nucleo.getInstancia();
+
+	public static final double TOLERANCIA_POR_DEFECTO = 1E-12;
+	public static final int MAXIMO_ITERACIONES_POR_DEFECTO = 30;
+
+	// Atributos ~
+	// -----------------------------------------------------------------
+	/**
+	 * Matriz original, con la que se calculan los residuos
+	 */
+	private final OperadorLineal a;
+	/**
+	 * Factores con los que se resuelven las correcciones
+	 */
+	private final Factorizacion factorizacion;
+	private final double tolerancia;
+	private final int maximoIteraciones;
+	private int iteraciones;
+	private double residuo;
+	/**
+	 * Indica si la última resolución alcanzó la tolerancia o el límite del
+	 * redondeo
+	 */
+	private boolean convergio;
+	/**
+	 * Norma uno de a, se calcula la primera vez que hace falta
+	 */
+	private double normaA = Double.NaN;
+
+	// Constructores ~
+	// -----------------------------------------------------------------
+	public RefinamientoIterativo(OperadorLineal a, Factorizacion factorizacion) {
+		this(a, factorizacion, TOLERANCIA_POR_DEFECTO, MAXIMO_ITERACIONES_POR_DEFECTO);
+	}
+
+	/**
+	 * @param a
+	 *            Matriz original
+	 * @param factorizacion
+	 *            Factores de a, posiblemente en menor precisión
+	 * @param tolerancia
+	 *            se detiene cuando ||b - A·x|| <= tolerancia
+	 * @param maximoIteraciones
+	 *            cantidad máxima de correcciones
+	 */
+	public RefinamientoIterativo(OperadorLineal a, Factorizacion factorizacion, double tolerancia,
+			int maximoIteraciones) {
+		this.a = a;
+		this.factorizacion = factorizacion;
+		this.tolerancia = tolerancia;
+		this.maximoIteraciones = maximoIteraciones;
+	}
+
+	// Getters and setters ~
+	// -----------------------------------------------------------------
+	public Factorizacion getFactorizacion() {
+		return factorizacion;
+	}
+
+	/**
+	 * Cantidad de correcciones realizadas en la última resolución
+	 */
+	public int getIteraciones() {
+		return iteraciones;
+	}
+
+	/**
+	 * Norma dos del residuo b - A·x de la última resolución
+	 */
+	public double getResiduo() {
+		return residuo;
+	}
+
+	/**
+	 * @return true si en la última resolución el residuo alcanzó la tolerancia
+	 *         o dejó de reducirse después de alguna corrección
+	 */
+	public boolean convergio() {
+		return convergio;
+	}
+
+	@Override
+	public int[] getDimension() {
+		return factorizacion.getDimension();
+	}
+
+	// Metodos ~
+	// -----------------------------------------------------------------
+	@Override
+	public VectorMath resolver(VectorMath b) throws MatrizOperationException {
+		VectorMath x = factorizacion.resolver(b);
+		int n = x.getDimension();
+		double[] valoresX = x.getValores();
+		double[] anterior = new double[n];
+		VectorMath r = VectorMath.ceros(n);
+
+		double norma = residuo(b, x, r);
+		iteraciones = 0;
+		convergio = norma <= tolerancia;
+		while (!convergio && iteraciones < maximoIteraciones) {
+			iteraciones++;
+			System.arraycopy(valoresX, 0, anterior, 0, n);
+			NUCLEO.axpy(1, factorizacion.resolver(r).getValores(), 0, valoresX, 0, n);
+
+			double normaNueva = residuo(b, x, r);
+			if (!(normaNueva < norma)) {
+				// La correccion no mejora, me quedo con la solucion anterior
+				System.arraycopy(anterior, 0, valoresX, 0, n);
+				break;
+			}
+			norma = normaNueva;
+			convergio = norma <= tolerancia;
+		}
+		if (!convergio)
+			convergio = norma <= limiteRedondeo(valoresX);
+		residuo = norma;
+		return x;
+	}
+
+	/**
+	 * Residuo que puede dejar una solución exacta redondeada a precisión
+	 * doble, √n·ε·||A||·||x||
+	 */
+	private double limiteRedondeo(double[] x) {
+		if (Double.isNaN(normaA))
+			normaA = a.normaUno();
+		int n = x.length;
+		return Math.sqrt(n) * Math.ulp(1.0) * normaA * NUCLEO.maximoAbsoluto(x, 0, n);
+	}
+
+	/**
+	 * Resuelve con los factores sin refinar, el sistema transpuesto solamente
+	 * se utiliza para estimaciones como la del número de condición
+	 */
+	@Override
+	public VectorMath resolverTranspuesta(VectorMath b) throws MatrizOperationException {
+		return factorizacion.resolverTranspuesta(b);
+	}
+
+	@Override
+	public MatrizMath resolver(MatrizMath b) throws MatrizOperationException {
+		int[] size = b.getDimension();
+		int n = size[0];
+		int k = size[1];
+		double[] valoresB = b.getValores();
+		double[] resultado = new double[n * k];
+		double[] columna = new double[n];
+		VectorMath vector = new VectorMath();
+		vector.setValores(columna);
+
+		// Refino cada columna por separado, informando el peor residuo
+		double peor = 0;
+		boolean todas = true;
+		for (int c = 0; c < k; c++) {
+			for (int i = 0; i < n; i++)
+				columna[i] = valoresB[i * k + c];
+			double[] x = resolver(vector).getValores();
+			for (int i = 0; i < n; i++)
+				resultado[i * k + c] = x[i];
+			peor = Math.max(peor, residuo);
+			todas &= convergio;
+		}
+		residuo = peor;
+		convergio = todas;
+		return new MatrizMath(n, k, resultado);
+	}
+
+	/**
+	 * Guarda en r el residuo b - A·x y devuelve su norma dos
+	 */
+	private double residuo(VectorMath b, VectorMath x, VectorMath r) throws MatrizOperationException {
+		a.multiplicar(x, r);
+		double[] valoresR = r.getValores();
+		double[] valoresB = b.getValores();
+		for (int i = 0; i < valoresR.length; i++)
+			valoresR[i] = valoresB[i] - valoresR[i];
+		return Math.sqrt(NUCLEO.sumaCuadrados(valoresR, 0, valoresR.length));
+	}
+}
@@ -0,0 +1,104 @@
+package ar.edu.unlam.math.io;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Escribe texto y números directamente como bytes en un buffer propio, que se
+ * vuelca al flujo de salida al llenarse. No construye un String por línea ni
+ * por número: los doubles se formatean en un StringBuilder que se reutiliza,
+ * con el mismo resultado que Double.toString.
+ *
+ * Solamente escribe caracteres ASCII, que es todo lo que necesitan los
+ * archivos de resultados.
+ *
+ * @author yoni
+ *
+ */
+public class EscritorNumeros implements Closeable, Flushable {
+	private static final int TAMANIO_BUFFER = 64 * 1024;
+	private static final String FIN_DE_LINEA = System.getProperty("line.separator");
+
+	// Atributos ~
+	// -----------------------------------------------------------------
+	private final OutputStream out;
+	private final byte[] buffer;
+	private int posicion;
+	/**
+	 * Texto del último número escrito, se reutiliza entre números
+	 */
+	private final StringBuilder numero = new StringBuilder(32);
+
+	// Constructores ~
+	// -----------------------------------------------------------------
+	public EscritorNumeros(OutputStream out) {
+		this.out = out;
+		this.buffer = new byte[TAMANIO_BUFFER];
+	}
+
+	// Metodos ~
+	// -----------------------------------------------------------------
+	/**
+	 * Escribe un texto ASCII
+	 */
+	public EscritorNumeros escribir(CharSequence texto) throws IOException {
+		int largo = texto.length();
+		for (int i = 0; i < largo; i++) {
+			if (posicion == buffer.length)
+				vaciar();
+			buffer[posicion++] = (byte) texto.charAt(i);
+		}
+		return this;
+	}
+
+	public EscritorNumeros escribir(char c) throws IOException {
+		if (posicion == buffer.length)
+			vaciar();
+		buffer[posicion++] = (byte) c;
+		return this;
+	}
+
+	public EscritorNumeros escribir(int valor) throws IOException {
+		numero.setLength(0);
+		numero.append(valor);
+		return escribir(numero);
+	}
+
+	/**
+	 * Escribe un double con el formato de Double.toString
+	 */
+	public EscritorNumeros escribir(double valor) throws IOException {
+		numero.setLength(0);
+		numero.append(valor);
+		return escribir(numero);
+	}
+
+	/**
+	 * Escribe el separador de líneas del sistema
+	 */
+	public EscritorNumeros nuevaLinea() throws IOException {
+		return escribir(FIN_DE_LINEA);
+	}
+
+	private void vaciar() throws IOException {
+		out.write(buffer, 0, posicion);
+		posicion = 0;
+	}
+
+	@Override
+	public void flush() throws IOException {
+		vaciar();
+		out.flush();
+	}
+
+	@Override
+	public void close() throws IOException {
+		try {
+			vaciar();
+		} finally {
+			out.close();
+		}
+	}
+}
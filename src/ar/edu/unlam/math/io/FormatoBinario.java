@@ -0,0 +1,346 @@
+package ar.edu.unlam.math.io;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+
+import ar.edu.unlam.math.MatrizMath;
+import ar.edu.unlam.math.VectorMath;
+
+/**
+ * Formato binario para matrices, vectores y sistemas de ecuaciones. El archivo
+ * comienza con un encabezado de 32 bytes:
+ *
+ * <pre>
+ * bytes 0-3    "SELB"
+ * bytes 4-7    version (1)
+ * bytes 8-11   tipo: 0 matriz, 1 vector, 2 sistema (matriz y luego vector)
+ * bytes 12-15  filas
+ * bytes 16-19  columnas
+ * bytes 20-23  orden de los valores: 0 por filas
+ * bytes 24-31  reservados
+ * </pre>
+ *
+ * seguido de los valores como doubles little-endian. Los valores se leen y
+ * escriben a través de regiones del archivo mapeadas en memoria, copiándolos en
+ * bloque al arreglo de la matriz sin interpretar texto.
+ *
+ * @author yoni
+ *
+ */
+public class FormatoBinario {
+	public static final int VERSION = 1;
+	public static final int TIPO_MATRIZ = 0;
+	public static final int TIPO_VECTOR = 1;
+	public static final int TIPO_SISTEMA = 2;
+	public static final int ORDEN_POR_FILAS = 0;
+	public static final int TAMANIO_ENCABEZADO = 32;
+	private static final byte[] FIRMA = { 'S', 'E', 'L', 'B' };
+	/**
+	 * Tamaño máximo de cada región mapeada, múltiplo de 8
+	 */
+	private static final long TAMANIO_REGION = 1L << 30;
+	/**
+	 * Cantidad máxima de valores de una matriz en memoria, el mayor arreglo que
+	 * admite la máquina virtual
+	 */
+	public static final int MAXIMO_VALORES_EN_MEMORIA = Integer.MAX_VALUE - 8;
+
+	private FormatoBinario() {
+	}
+
+	/**
+	 * Datos del encabezado de un archivo binario
+	 */
+	public static class Encabezado {
+		private final int tipo;
+		private final int filas;
+		private final int columnas;
+
+		public Encabezado(int tipo, int filas, int columnas) {
+			this.tipo = tipo;
+			this.filas = filas;
+			this.columnas = columnas;
+		}
+
+		public int getTipo() {
+			return tipo;
+		}
+
+		public int getFilas() {
+			return filas;
+		}
+
+		public int getColumnas() {
+			return columnas;
+		}
+	}
+
+	// Lectura ~
+	// -----------------------------------------------------------------
+	/**
+	 * Indica si el archivo comienza con la firma del formato binario
+	 *
+	 * @param archivo
+	 *            Ubicacion del archivo
+	 * @return true si el archivo esta en formato binario
+	 */
+	public static boolean esBinario(String archivo) throws IOException {
+		File f = new File(archivo);
+		if (f.length() < TAMANIO_ENCABEZADO)
+			return false;
+		FileInputStream in = null;
+		try {
+			in = new FileInputStream(f);
+			byte[] firma = new byte[FIRMA.length];
+			int leidos = 0;
+			while (leidos < firma.length) {
+				int n = in.read(firma, leidos, firma.length - leidos);
+				if (n < 0)
+					return false;
+				leidos += n;
+			}
+			for (int i = 0; i < firma.length; i++)
+				if (firma[i] != FIRMA[i])
+					return false;
+			return true;
+		} finally {
+			if (in != null)
+				in.close();
+		}
+	}
+
+	/**
+	 * Lee y valida el encabezado de un archivo binario
+	 *
+	 * @param canal
+	 *            Canal abierto sobre el archivo
+	 * @return Encabezado leido
+	 * @throws IOException
+	 *             Si el archivo no tiene formato binario
+	 */
+	public static Encabezado leerEncabezado(FileChannel canal) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(TAMANIO_ENCABEZADO).order(ByteOrder.LITTLE_ENDIAN);
+		while (buffer.hasRemaining())
+			if (canal.read(buffer, buffer.position()) < 0)
+				throw new IOException("El archivo no tiene formato binario de SEL");
+		buffer.flip();
+
+		for (int i = 0; i < FIRMA.length; i++)
+			if (buffer.get() != FIRMA[i])
+				throw new IOException("El archivo no tiene formato binario de SEL");
+		int version = buffer.getInt();
+		int tipo = buffer.getInt();
+		int filas = buffer.getInt();
+		int columnas = buffer.getInt();
+		int orden = buffer.getInt();
+		if (version != VERSION)
+			throw new IOException("Version de formato binario no soportada: " + version);
+		if (orden != ORDEN_POR_FILAS)
+			throw new IOException("Orden de valores no soportado: " + orden);
+		if (filas < 0 || columnas < 0)
+			throw new IOException("Dimension invalida en el encabezado");
+
+		Encabezado encabezado = new Encabezado(tipo, filas, columnas);
+		long esperado = TAMANIO_ENCABEZADO + 8L * cantidadValores(encabezado);
+		if (canal.size() < esperado)
+			throw new IOException("El archivo esta incompleto");
+		return encabezado;
+	}
+
+	/**
+	 * Verifica que una matriz de filas × columnas entre en un único arreglo
+	 *
+	 * @throws IOException
+	 *             Si la matriz es demasiado grande para cargarla en memoria
+	 */
+	public static void verificarTamanioEnMemoria(long filas, long columnas) throws IOException {
+		if (filas * columnas > MAXIMO_VALORES_EN_MEMORIA)
+			throw new IOException("La matriz de " + filas + "x" + columnas
+					+ " no entra en memoria, puede leerse con SEL.leerEnDisco o MatrizEnDisco");
+	}
+
+	/**
+	 * Copia valores del archivo al arreglo destino
+	 *
+	 * @param canal
+	 *            Canal abierto sobre el archivo
+	 * @param posicion
+	 *            Posicion en bytes del primer valor
+	 * @param destino
+	 *            Arreglo donde se guardan los valores
+	 * @param desde
+	 *            Posicion del primer valor en el arreglo
+	 * @param cantidad
+	 *            Cantidad de valores a leer
+	 */
+	public static void leerValores(FileChannel canal, long posicion, double[] destino, int desde, int cantidad)
+			throws IOException {
+		while (cantidad > 0) {
+			int enRegion = (int) Math.min(cantidad, TAMANIO_REGION / 8);
+			MappedByteBuffer region = canal.map(MapMode.READ_ONLY, posicion, 8L * enRegion);
+			region.order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer().get(destino, desde, enRegion);
+			posicion += 8L * enRegion;
+			desde += enRegion;
+			cantidad -= enRegion;
+		}
+	}
+
+	/**
+	 * Lee una matriz guardada con {@link #escribir(String, MatrizMath)}
+	 *
+	 * @param archivo
+	 *            Ubicacion del archivo
+	 * @return Matriz leida
+	 */
+	public static MatrizMath leerMatriz(String archivo) throws IOException {
+		RandomAccessFile f = null;
+		try {
+			f = new RandomAccessFile(archivo, "r");
+			FileChannel canal = f.getChannel();
+			Encabezado encabezado = leerEncabezado(canal);
+			if (encabezado.getTipo() != TIPO_MATRIZ && encabezado.getTipo() != TIPO_SISTEMA)
+				throw new IOException("El archivo no contiene una matriz");
+			verificarTamanioEnMemoria(encabezado.getFilas(), encabezado.getColumnas());
+			double[] valores = new double[encabezado.getFilas() * encabezado.getColumnas()];
+			leerValores(canal, TAMANIO_ENCABEZADO, valores, 0, valores.length);
+			return new MatrizMath(encabezado.getFilas(), encabezado.getColumnas(), valores);
+		} finally {
+			if (f != null)
+				f.close();
+		}
+	}
+
+	/**
+	 * Lee un vector guardado con {@link #escribir(String, VectorMath)}
+	 *
+	 * @param archivo
+	 *            Ubicacion del archivo
+	 * @return Vector leido
+	 */
+	public static VectorMath leerVector(String archivo) throws IOException {
+		RandomAccessFile f = null;
+		try {
+			f = new RandomAccessFile(archivo, "r");
+			FileChannel canal = f.getChannel();
+			Encabezado encabezado = leerEncabezado(canal);
+			if (encabezado.getTipo() != TIPO_VECTOR)
+				throw new IOException("El archivo no contiene un vector");
+			double[] valores = new double[encabezado.getFilas()];
+			leerValores(canal, TAMANIO_ENCABEZADO, valores, 0, valores.length);
+			VectorMath v = new VectorMath();
+			v.setValores(valores);
+			return v;
+		} finally {
+			if (f != null)
+				f.close();
+		}
+	}
+
+	// Escritura ~
+	// -----------------------------------------------------------------
+	/**
+	 * Guarda una matriz en formato binario
+	 *
+	 * @param archivo
+	 *            Ubicacion del archivo
+	 * @param m
+	 *            Matriz a guardar
+	 */
+	public static void escribir(String archivo, MatrizMath m) throws IOException {
+		int[] size = m.getDimension();
+		escribir(archivo, new Encabezado(TIPO_MATRIZ, size[0], size[1]), m.getValores(), null);
+	}
+
+	/**
+	 * Guarda un vector en formato binario
+	 *
+	 * @param archivo
+	 *            Ubicacion del archivo
+	 * @param v
+	 *            Vector a guardar
+	 */
+	public static void escribir(String archivo, VectorMath v) throws IOException {
+		escribir(archivo, new Encabezado(TIPO_VECTOR, v.getDimension(), 1), v.getValores(), null);
+	}
+
+	/**
+	 * Guarda un sistema de ecuaciones en formato binario: la matriz de
+	 * coeficientes seguida del vector de términos independientes
+	 *
+	 * @param archivo
+	 *            Ubicacion del archivo
+	 * @param m
+	 *            Matriz de coeficientes
+	 * @param b
+	 *            Vector de términos independientes
+	 */
+	public static void escribir(String archivo, MatrizMath m, VectorMath b) throws IOException {
+		int[] size = m.getDimension();
+		if (b.getDimension() != size[0])
+			throw new IllegalArgumentException("La dimension del vector debe coincidir con las filas de la matriz");
+		escribir(archivo, new Encabezado(TIPO_SISTEMA, size[0], size[1]), m.getValores(), b.getValores());
+	}
+
+	private static void escribir(String archivo, Encabezado encabezado, double[] valores, double[] extra)
+			throws IOException {
+		RandomAccessFile f = null;
+		try {
+			f = new RandomAccessFile(archivo, "rw");
+			FileChannel canal = f.getChannel();
+			long cantidad = cantidadValores(encabezado);
+			f.setLength(TAMANIO_ENCABEZADO + 8L * cantidad);
+
+			ByteBuffer buffer = ByteBuffer.allocate(TAMANIO_ENCABEZADO).order(ByteOrder.LITTLE_ENDIAN);
+			buffer.put(FIRMA);
+			buffer.putInt(VERSION);
+			buffer.putInt(encabezado.getTipo());
+			buffer.putInt(encabezado.getFilas());
+			buffer.putInt(encabezado.getColumnas());
+			buffer.putInt(ORDEN_POR_FILAS);
+			buffer.flip();
+			while (buffer.hasRemaining())
+				canal.write(buffer, buffer.position());
+
+			escribirValores(canal, TAMANIO_ENCABEZADO, valores);
+			if (extra != null)
+				escribirValores(canal, TAMANIO_ENCABEZADO + 8L * valores.length, extra);
+		} finally {
+			if (f != null)
+				f.close();
+		}
+	}
+
+	/**
+	 * Copia todos los valores del arreglo al archivo a partir de la posicion
+	 * indicada en bytes
+	 */
+	public static void escribirValores(FileChannel canal, long posicion, double[] valores) throws IOException {
+		int desde = 0;
+		int cantidad = valores.length;
+		while (cantidad > 0) {
+			int enRegion = (int) Math.min(cantidad, TAMANIO_REGION / 8);
+			MappedByteBuffer region = canal.map(MapMode.READ_WRITE, posicion, 8L * enRegion);
+			region.order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer().put(valores, desde, enRegion);
+			posicion += 8L * enRegion;
+			desde += enRegion;
+			cantidad -= enRegion;
+		}
+	}
+
+	/**
+	 * Cantidad de doubles que siguen al encabezado
+	 */
+	private static long cantidadValores(Encabezado encabezado) {
+		long valores = (long) encabezado.getFilas() * encabezado.getColumnas();
+		if (encabezado.getTipo() == TIPO_SISTEMA)
+			valores += encabezado.getFilas();
+		return valores;
+	}
+}
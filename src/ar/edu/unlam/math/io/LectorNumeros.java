@@ -0,0 +1,356 @@
+package ar.edu.unlam.math.io;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+
+/**
+ * Lee números separados por espacios, tabulaciones o saltos de línea
+ * directamente desde los bytes de un flujo de entrada, sin construir un String
+ * por línea ni por número.
+ * 
+ * Los números con hasta 15 dígitos significativos y exponente chico se
+ * convierten con aritmética exacta. Los de hasta 18 dígitos, como los que
+ * escribe Double.toString, se convierten con el algoritmo de Eisel-Lemire
+ * (multiplicación por una aproximación de 128 bits de la potencia de diez).
+ * Los pocos casos que ninguno resuelve con certeza se delegan en
+ * {@link Double#parseDouble(String)}, por lo que el resultado es siempre el
+ * mismo que el de Double.valueOf.
+ * 
+ * @author yoni
+ * 
+ */
+public class LectorNumeros implements Closeable {
+	private static final int TAMANIO_BUFFER = 64 * 1024;
+	/**
+	 * Potencias de diez que se representan exactamente como double
+	 */
+	private static final double[] POTENCIAS_DE_DIEZ = { 1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+			1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22 };
+	private static final int MINIMO_EXPONENTE = -342;
+	private static final int MAXIMO_EXPONENTE = 308;
+	/**
+	 * Mitad alta y baja de una aproximación de 128 bits de 5^q (normalizada
+	 * para que el bit más alto valga uno), para q entre MINIMO_EXPONENTE y
+	 * MAXIMO_EXPONENTE
+	 */
+	private static final long[] POTENCIAS_ALTA = new long[MAXIMO_EXPONENTE - MINIMO_EXPONENTE + 1];
+	private static final long[] POTENCIAS_BAJA = new long[MAXIMO_EXPONENTE - MINIMO_EXPONENTE + 1];
+
+	static {
+		BigInteger cinco = BigInteger.valueOf(5);
+		for (int q = MINIMO_EXPONENTE; q <= MAXIMO_EXPONENTE; q++) {
+			BigInteger c;
+			if (q >= 0) {
+				// 5^q truncado a 128 bits
+				c = cinco.pow(q);
+				int bits = c.bitLength();
+				c = bits < 128 ? c.shiftLeft(128 - bits) : c.shiftRight(bits - 128);
+			} else {
+				// 1/5^-q redondeado hacia arriba y truncado a 128 bits
+				BigInteger potencia = cinco.pow(-q);
+				int z = potencia.bitLength();
+				int b = q >= -27 ? z + 127 : 2 * z + 128;
+				c = BigInteger.ONE.shiftLeft(b).divide(potencia).add(BigInteger.ONE);
+				if (c.bitLength() > 128)
+					c = c.shiftRight(c.bitLength() - 128);
+			}
+			POTENCIAS_ALTA[q - MINIMO_EXPONENTE] = c.shiftRight(64).longValue();
+			POTENCIAS_BAJA[q - MINIMO_EXPONENTE] = c.longValue();
+		}
+	}
+
+	// Atributos ~
+	// -----------------------------------------------------------------
+	private final InputStream in;
+	private final byte[] buffer;
+	private int posicion;
+	private int limite;
+	/**
+	 * Caracteres del último número leido, se reutiliza entre números
+	 */
+	private char[] token = new char[64];
+	private int largoToken;
+
+	// Constructores ~
+	// -----------------------------------------------------------------
+	public LectorNumeros(InputStream in) {
+		this.in = in;
+		this.buffer = new byte[TAMANIO_BUFFER];
+	}
+
+	// Metodos ~
+	// -----------------------------------------------------------------
+	/**
+	 * Lee el siguiente número entero
+	 * 
+	 * @return Número leido
+	 * @throws IOException
+	 *             Si se termina el archivo o el número no es un entero
+	 */
+	public int leerEntero() throws IOException {
+		leerToken();
+		int i = 0;
+		boolean negativo = false;
+		if (token[0] == '-' || token[0] == '+') {
+			negativo = token[0] == '-';
+			i++;
+		}
+		if (i == largoToken)
+			throw new NumberFormatException("Se esperaba un numero entero: " + new String(token, 0, largoToken));
+		long valor = 0;
+		for (; i < largoToken; i++) {
+			int digito = token[i] - '0';
+			if (digito < 0 || digito > 9 || valor > Integer.MAX_VALUE)
+				throw new NumberFormatException("Se esperaba un numero entero: " + new String(token, 0, largoToken));
+			valor = valor * 10 + digito;
+		}
+		valor = negativo ? -valor : valor;
+		if (valor > Integer.MAX_VALUE || valor < Integer.MIN_VALUE)
+			throw new NumberFormatException("Se esperaba un numero entero: " + new String(token, 0, largoToken));
+		return (int) valor;
+	}
+
+	/**
+	 * Lee el siguiente número real
+	 * 
+	 * @return Número leido
+	 * @throws IOException
+	 *             Si se termina el archivo
+	 */
+	public double leerDouble() throws IOException {
+		leerToken();
+		return convertirToken();
+	}
+
+	/**
+	 * Lee varios números reales seguidos directamente en un arreglo
+	 * 
+	 * @param destino
+	 *            Arreglo donde se guardan los números
+	 * @param desde
+	 *            Posicion del primer número en el arreglo
+	 * @param cantidad
+	 *            Cantidad de números a leer
+	 * @throws IOException
+	 *             Si el archivo termina antes de leer todos los números
+	 */
+	public void leerDoubles(double[] destino, int desde, int cantidad) throws IOException {
+		int hasta = desde + cantidad;
+		for (int i = desde; i < hasta; i++) {
+			leerToken();
+			destino[i] = convertirToken();
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		in.close();
+	}
+
+	/**
+	 * Copia en token los caracteres del siguiente número, salteando los
+	 * separadores
+	 */
+	private void leerToken() throws IOException {
+		int c = leerByte();
+		while (c == ' ' || c == '\t' || c == '\n' || c == '\r')
+			c = leerByte();
+		if (c < 0)
+			throw new EOFException("Fin de archivo inesperado");
+
+		largoToken = 0;
+		while (c >= 0 && c != ' ' && c != '\t' && c != '\n' && c != '\r') {
+			if (largoToken == token.length) {
+				char[] mayor = new char[token.length * 2];
+				System.arraycopy(token, 0, mayor, 0, largoToken);
+				token = mayor;
+			}
+			token[largoToken++] = (char) c;
+			c = leerByte();
+		}
+	}
+
+	private int leerByte() throws IOException {
+		if (posicion == limite) {
+			limite = in.read(buffer, 0, buffer.length);
+			posicion = 0;
+			if (limite <= 0) {
+				limite = 0;
+				return -1;
+			}
+		}
+		return buffer[posicion++] & 0xFF;
+	}
+
+	/**
+	 * Convierte el token en double. Si tiene a lo sumo 15 dígitos
+	 * significativos y la potencia de diez resultante es exacta, el cociente o
+	 * producto de dos doubles exactos da el double más cercano; si no, se usa
+	 * Double.parseDouble
+	 */
+	private double convertirToken() {
+		int i = 0;
+		boolean negativo = false;
+		if (token[0] == '-' || token[0] == '+') {
+			negativo = token[0] == '-';
+			i++;
+		}
+
+		long mantisa = 0;
+		int digitos = 0;
+		int maximoDigitos = 18;
+		int exponente = 0;
+		boolean hayDigitos = false;
+
+		// Parte entera
+		for (; i < largoToken && token[i] >= '0' && token[i] <= '9'; i++) {
+			hayDigitos = true;
+			if (mantisa == 0 && token[i] == '0')
+				continue;
+			mantisa = mantisa * 10 + (token[i] - '0');
+			digitos++;
+			if (digitos > maximoDigitos)
+				return convertirConString();
+		}
+
+		// Parte decimal
+		if (i < largoToken && token[i] == '.') {
+			for (i++; i < largoToken && token[i] >= '0' && token[i] <= '9'; i++) {
+				hayDigitos = true;
+				exponente--;
+				if (mantisa == 0 && token[i] == '0')
+					continue;
+				mantisa = mantisa * 10 + (token[i] - '0');
+				digitos++;
+				if (digitos > maximoDigitos)
+					return convertirConString();
+			}
+		}
+
+		// Exponente
+		if (i < largoToken && (token[i] == 'e' || token[i] == 'E')) {
+			i++;
+			boolean exponenteNegativo = false;
+			if (i < largoToken && (token[i] == '-' || token[i] == '+')) {
+				exponenteNegativo = token[i] == '-';
+				i++;
+			}
+			if (i == largoToken)
+				return convertirConString();
+			int valor = 0;
+			for (; i < largoToken && token[i] >= '0' && token[i] <= '9'; i++) {
+				valor = valor * 10 + (token[i] - '0');
+				if (valor > 1000)
+					return convertirConString();
+			}
+			exponente += exponenteNegativo ? -valor : valor;
+		}
+
+		// Sufijos de tipo, NaN, Infinity o caracteres invalidos
+		if (i != largoToken || !hayDigitos)
+			return convertirConString();
+
+		double resultado;
+		if (mantisa == 0)
+			resultado = 0;
+		else if (digitos <= 15 && exponente >= 0 && exponente < POTENCIAS_DE_DIEZ.length)
+			resultado = mantisa * POTENCIAS_DE_DIEZ[exponente];
+		else if (digitos <= 15 && exponente < 0 && -exponente < POTENCIAS_DE_DIEZ.length)
+			resultado = mantisa / POTENCIAS_DE_DIEZ[-exponente];
+		else {
+			long bits = eiselLemire(mantisa, exponente);
+			if (bits < 0)
+				return convertirConString();
+			resultado = Double.longBitsToDouble(bits);
+		}
+
+		return negativo ? -resultado : resultado;
+	}
+
+	/**
+	 * Convierte mantisa·10^exponente al double más cercano con el algoritmo de
+	 * Eisel-Lemire
+	 * 
+	 * @param mantisa
+	 *            entero positivo de hasta 18 dígitos
+	 * @return bits del double, o -1 si el resultado no puede determinarse con
+	 *         certeza o es subnormal, infinito o cero
+	 */
+	private static long eiselLemire(long mantisa, int exponente) {
+		if (exponente < MINIMO_EXPONENTE || exponente > MAXIMO_EXPONENTE)
+			return -1;
+
+		// Normalizo la mantisa para que su bit mas alto valga uno
+		int ceros = Long.numberOfLeadingZeros(mantisa);
+		mantisa <<= ceros;
+		long exponente2 = ((217706L * exponente) >> 16) + 64 + 1023 - ceros;
+
+		// Multiplico por la aproximacion de 5^exponente
+		long potenciaAlta = POTENCIAS_ALTA[exponente - MINIMO_EXPONENTE];
+		long alto = multiplicarAlto(mantisa, potenciaAlta);
+		long bajo = mantisa * potenciaAlta;
+
+		// Si los bits descartados pueden cambiar el redondeo uso los 128 bits
+		if ((alto & 0x1FF) == 0x1FF && menorSinSigno(bajo + mantisa, mantisa)) {
+			long potenciaBaja = POTENCIAS_BAJA[exponente - MINIMO_EXPONENTE];
+			long alto2 = multiplicarAlto(mantisa, potenciaBaja);
+			long bajo2 = mantisa * potenciaBaja;
+			long altoCombinado = alto;
+			long bajoCombinado = bajo + alto2;
+			if (menorSinSigno(bajoCombinado, bajo))
+				altoCombinado++;
+			if ((altoCombinado & 0x1FF) == 0x1FF && bajoCombinado == -1L && menorSinSigno(bajo2 + mantisa, mantisa))
+				return -1;
+			alto = altoCombinado;
+			bajo = bajoCombinado;
+		}
+
+		// Me quedo con 54 bits
+		long bitAlto = alto >>> 63;
+		long resultado = alto >>> (bitAlto + 9);
+		exponente2 -= 1 ^ bitAlto;
+
+		// Justo en la mitad entre dos doubles no se puede decidir
+		if (bajo == 0 && (alto & 0x1FF) == 0 && (resultado & 3) == 1)
+			return -1;
+
+		// Redondeo a 53 bits
+		resultado += resultado & 1;
+		resultado >>>= 1;
+		if ((resultado >>> 53) > 0) {
+			resultado >>>= 1;
+			exponente2++;
+		}
+		if (exponente2 <= 0 || exponente2 >= 0x7FF)
+			return -1;
+
+		return (exponente2 << 52) | (resultado & 0x000FFFFFFFFFFFFFL);
+	}
+
+	/**
+	 * Devuelve los 64 bits altos del producto sin signo de 128 bits a·b
+	 */
+	private static long multiplicarAlto(long a, long b) {
+		long a0 = a & 0xFFFFFFFFL;
+		long a1 = a >>> 32;
+		long b0 = b & 0xFFFFFFFFL;
+		long b1 = b >>> 32;
+		long p00 = a0 * b0;
+		long p01 = a0 * b1;
+		long p10 = a1 * b0;
+		long p11 = a1 * b1;
+		long medio = (p00 >>> 32) + (p01 & 0xFFFFFFFFL) + (p10 & 0xFFFFFFFFL);
+		return p11 + (p01 >>> 32) + (p10 >>> 32) + (medio >>> 32);
+	}
+
+	private static boolean menorSinSigno(long a, long b) {
+		return (a ^ Long.MIN_VALUE) < (b ^ Long.MIN_VALUE);
+	}
+
+	private double convertirConString() {
+		return Double.parseDouble(new String(token, 0, largoToken));
+	}
+}
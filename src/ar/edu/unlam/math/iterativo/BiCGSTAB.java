@@ -0,0 +1,80 @@
+package ar.edu.unlam.math.iterativo;
+
+import ar.edu.unlam.math.OperadorLineal;
+import ar.edu.unlam.math.VectorMath;
+import ar.edu.unlam.math.exception.MatrizOperationException;
+
+/**
+ * Resuelve A·x = b por el método del gradiente biconjugado estabilizado
+ * (BiCGSTAB). Sirve para matrices generales, no necesariamente simétricas, y en
+ * cada iteración solamente realiza dos productos matriz-vector, por lo que es
+ * adecuado para matrices dispersas.
+ *
+ * @author yoni
+ *
+ */
+public class BiCGSTAB extends MetodoIterativo {
+	// Constructores ~
+	// -----------------------------------------------------------------
+	public BiCGSTAB() {
+		super();
+	}
+
+	public BiCGSTAB(double tolerancia, int maximoIteraciones) {
+		super(tolerancia, maximoIteraciones);
+	}
+
+	// Metodos ~
+	// -----------------------------------------------------------------
+	@Override
+	protected void iterar(OperadorLineal a, double[] b, double[] x, double limite) throws MatrizOperationException {
+		int n = b.length;
+		double[] r = residuo(a, b, x);
+		double[] rGorro = r.clone();
+		double[] p = new double[n];
+		double[] v = new double[n];
+		double[] s = new double[n];
+		double[] t = new double[n];
+		VectorMath vectorP = vector(p), vectorV = vector(v), vectorS = vector(s), vectorT = vector(t);
+
+		double rho = 1, alfa = 1, omega = 1;
+		while (norma(r) > limite && iteraciones < maximoIteraciones) {
+			iteraciones++;
+			double rhoNuevo = producto(rGorro, r);
+			if (rhoNuevo == 0)
+				return; // Estancado, no hay una nueva direccion
+
+			double beta = (rhoNuevo / rho) * (alfa / omega);
+			for (int i = 0; i < n; i++)
+				p[i] = r[i] + beta * (p[i] - omega * v[i]);
+
+			a.multiplicar(vectorP, vectorV);
+			double rGorroV = producto(rGorro, v);
+			if (rGorroV == 0)
+				return; // Estancado, la direccion es ortogonal a rGorro
+			alfa = rhoNuevo / rGorroV;
+			for (int i = 0; i < n; i++)
+				s[i] = r[i] - alfa * v[i];
+
+			if (norma(s) <= limite) {
+				for (int i = 0; i < n; i++)
+					x[i] += alfa * p[i];
+				return;
+			}
+
+			a.multiplicar(vectorS, vectorT);
+			double tt = producto(t, t);
+			if (tt == 0)
+				return; // Estancado, A·s es nulo
+			omega = producto(t, s) / tt;
+			for (int i = 0; i < n; i++) {
+				x[i] += alfa * p[i] + omega * s[i];
+				r[i] = s[i] - omega * t[i];
+			}
+			rho = rhoNuevo;
+
+			if (omega == 0)
+				return; // Estancado, el residuo no se reduce
+		}
+	}
+}
@@ -0,0 +1,133 @@
+package ar.edu.unlam.math.iterativo;
+
+import ar.edu.unlam.math.OperadorLineal;
+import ar.edu.unlam.math.VectorMath;
+import ar.edu.unlam.math.exception.MatrizOperationException;
+
+/**
+ * Resuelve A·x = b por el método GMRES con reinicio. En cada ciclo construye
+ * una base ortonormal del subespacio de Krylov (Arnoldi con Gram-Schmidt
+ * modificado) y elige la aproximación que minimiza el residuo, resolviendo el
+ * problema de cuadrados mínimos con rotaciones de Givens. Sirve para matrices
+ * generales.
+ *
+ * @author yoni
+ *
+ */
+public class GMRES extends MetodoIterativo {
+	public static final int REINICIO_POR_DEFECTO = 30;
+
+	// Atributos ~
+	// -----------------------------------------------------------------
+	/**
+	 * Cantidad de vectores de la base antes de reiniciar
+	 */
+	private int reinicio;
+
+	// Constructores ~
+	// -----------------------------------------------------------------
+	public GMRES() {
+		super();
+		this.reinicio = REINICIO_POR_DEFECTO;
+	}
+
+	/**
+	 * @param reinicio
+	 *            cantidad de vectores de la base antes de reiniciar
+	 */
+	public GMRES(double tolerancia, int maximoIteraciones, int reinicio) {
+		super(tolerancia, maximoIteraciones);
+		this.reinicio = reinicio;
+	}
+
+	// Metodos ~
+	// -----------------------------------------------------------------
+	@Override
+	protected void iterar(OperadorLineal a, double[] b, double[] x, double limite) throws MatrizOperationException {
+		int n = b.length;
+		int m = Math.min(reinicio, n);
+		// La base se reserva una sola vez y se reutiliza en cada reinicio
+		double[][] v = new double[m + 1][n];
+		VectorMath[] base = new VectorMath[m + 1];
+		for (int j = 0; j <= m; j++)
+			base[j] = vector(v[j]);
+		VectorMath actual = vector(x);
+		double[][] h = new double[m + 1][m];
+		double[] cos = new double[m];
+		double[] sen = new double[m];
+		double[] g = new double[m + 1];
+		double[] y = new double[m];
+
+		residuo(a, b, actual, base[0]);
+		double beta = norma(v[0]);
+
+		while (beta > limite && iteraciones < maximoIteraciones) {
+			for (int i = 0; i < n; i++)
+				v[0][i] /= beta;
+			g[0] = beta;
+			for (int i = 1; i <= m; i++)
+				g[i] = 0;
+
+			int k = 0;
+			while (k < m && iteraciones < maximoIteraciones) {
+				iteraciones++;
+
+				// Arnoldi: w = A·v_k ortogonalizado contra la base
+				a.multiplicar(base[k], base[k + 1]);
+				double[] w = v[k + 1];
+				for (int j = 0; j <= k; j++) {
+					h[j][k] = producto(w, v[j]);
+					for (int i = 0; i < n; i++)
+						w[i] -= h[j][k] * v[j][i];
+				}
+				double normaW = norma(w);
+				h[k + 1][k] = normaW;
+
+				// Aplico las rotaciones anteriores a la nueva columna
+				for (int j = 0; j < k; j++) {
+					double aux = cos[j] * h[j][k] + sen[j] * h[j + 1][k];
+					h[j + 1][k] = -sen[j] * h[j][k] + cos[j] * h[j + 1][k];
+					h[j][k] = aux;
+				}
+
+				// Calculo la rotacion que anula h[k+1][k]
+				double radio = Math.hypot(h[k][k], normaW);
+				if (radio == 0)
+					break; // La base no puede extenderse
+				cos[k] = h[k][k] / radio;
+				sen[k] = normaW / radio;
+				h[k][k] = radio;
+				h[k + 1][k] = 0;
+				g[k + 1] = -sen[k] * g[k];
+				g[k] = cos[k] * g[k];
+
+				// Si w se anula, el subespacio contiene la solucion exacta
+				if (normaW != 0)
+					for (int i = 0; i < n; i++)
+						w[i] /= normaW;
+				k++;
+
+				if (Math.abs(g[k]) <= limite || normaW == 0)
+					break;
+			}
+
+			// Resuelvo el sistema triangular H·y = g y actualizo x
+			for (int i = k - 1; i >= 0; i--) {
+				double suma = g[i];
+				for (int j = i + 1; j < k; j++)
+					suma -= h[i][j] * y[j];
+				y[i] = suma / h[i][i];
+			}
+			for (int j = 0; j < k; j++)
+				for (int i = 0; i < n; i++)
+					x[i] += y[j] * v[j][i];
+
+			// Reinicio desde el residuo verdadero
+			residuo(a, b, actual, base[0]);
+			double betaNuevo = norma(v[0]);
+			if (betaNuevo >= beta)
+				return; // Estancado, el residuo no se reduce
+			beta = betaNuevo;
+		}
+	}
+}
@@ -0,0 +1,53 @@
+package ar.edu.unlam.math.iterativo;
+
+import ar.edu.unlam.math.OperadorLineal;
+import ar.edu.unlam.math.VectorMath;
+import ar.edu.unlam.math.exception.MatrizOperationException;
+
+/**
+ * Resuelve A·x = b por el método de Gauss-Seidel: a diferencia de Jacobi, cada
+ * componente nueva se utiliza inmediatamente para calcular las siguientes, por
+ * lo que no requiere un segundo vector y suele converger en menos iteraciones.
+ *
+ * @author yoni
+ *
+ */
+public class GaussSeidel extends MetodoIterativo {
+	// Constructores ~
+	// -----------------------------------------------------------------
+	public GaussSeidel() {
+		super();
+	}
+
+	public GaussSeidel(double tolerancia, int maximoIteraciones) {
+		super(tolerancia, maximoIteraciones);
+	}
+
+	// Metodos ~
+	// -----------------------------------------------------------------
+	@Override
+	protected void iterar(OperadorLineal a, double[] b, double[] x, double limite) throws MatrizOperationException {
+		int n = b.length;
+		double[] diagonal = diagonal(a);
+		VectorMath actual = vector(x);
+		VectorMath terminos = vector(b);
+
+		if (a.normaResiduo(actual, terminos) <= limite)
+			return;
+		while (iteraciones < maximoIteraciones) {
+			iteraciones++;
+			// Cada correccion es el residuo de la fila con las componentes
+			// anteriores ya actualizadas, su norma sale del mismo recorrido.
+			// Recien cuando alcanza el limite se verifica con el residuo
+			// verdadero, que requiere otro producto
+			double residuo = 0;
+			for (int i = 0; i < n; i++) {
+				double r = b[i] - a.productoFila(i, actual);
+				residuo += r * r;
+				x[i] += r / diagonal[i];
+			}
+			if (Math.sqrt(residuo) <= limite && a.normaResiduo(actual, terminos) <= limite)
+				return;
+		}
+	}
+}
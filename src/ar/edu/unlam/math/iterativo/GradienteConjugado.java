@@ -0,0 +1,57 @@
+package ar.edu.unlam.math.iterativo;
+
+import ar.edu.unlam.math.OperadorLineal;
+import ar.edu.unlam.math.VectorMath;
+import ar.edu.unlam.math.exception.MatrizOperationException;
+
+/**
+ * Resuelve A·x = b por el método del gradiente conjugado. Requiere que la
+ * matriz sea simétrica definida positiva y realiza un producto matriz-vector
+ * por iteración.
+ *
+ * @author yoni
+ *
+ */
+public class GradienteConjugado extends MetodoIterativo {
+	// Constructores ~
+	// -----------------------------------------------------------------
+	public GradienteConjugado() {
+		super();
+	}
+
+	public GradienteConjugado(double tolerancia, int maximoIteraciones) {
+		super(tolerancia, maximoIteraciones);
+	}
+
+	// Metodos ~
+	// -----------------------------------------------------------------
+	@Override
+	protected void iterar(OperadorLineal a, double[] b, double[] x, double limite) throws MatrizOperationException {
+		int n = b.length;
+		double[] r = residuo(a, b, x);
+		double[] p = r.clone();
+		double[] ap = new double[n];
+		VectorMath vectorP = vector(p), vectorAp = vector(ap);
+		double rr = producto(r, r);
+
+		while (Math.sqrt(rr) > limite && iteraciones < maximoIteraciones) {
+			iteraciones++;
+			a.multiplicar(vectorP, vectorAp);
+			double pap = producto(p, ap);
+			if (pap <= 0)
+				throw new MatrizOperationException("El gradiente conjugado requiere una matriz definida positiva");
+
+			double alfa = rr / pap;
+			for (int i = 0; i < n; i++) {
+				x[i] += alfa * p[i];
+				r[i] -= alfa * ap[i];
+			}
+
+			double rrNuevo = producto(r, r);
+			double beta = rrNuevo / rr;
+			for (int i = 0; i < n; i++)
+				p[i] = r[i] + beta * p[i];
+			rr = rrNuevo;
+		}
+	}
+}
@@ -0,0 +1,50 @@
+package ar.edu.unlam.math.iterativo;
+
+import ar.edu.unlam.math.OperadorLineal;
+import ar.edu.unlam.math.VectorMath;
+import ar.edu.unlam.math.exception.MatrizOperationException;
+
+/**
+ * Resuelve A·x = b por el método de Jacobi: cada componente nueva se calcula a
+ * partir de la aproximación anterior completa. Converge si la matriz es
+ * diagonalmente dominante.
+ *
+ * @author yoni
+ *
+ */
+public class Jacobi extends MetodoIterativo {
+	// Constructores ~
+	// -----------------------------------------------------------------
+	public Jacobi() {
+		super();
+	}
+
+	public Jacobi(double tolerancia, int maximoIteraciones) {
+		super(tolerancia, maximoIteraciones);
+	}
+
+	// Metodos ~
+	// -----------------------------------------------------------------
+	@Override
+	protected void iterar(OperadorLineal a, double[] b, double[] x, double limite) throws MatrizOperationException {
+		int n = b.length;
+		double[] diagonal = diagonal(a);
+		double[] siguiente = new double[n];
+		VectorMath actual = vector(x);
+
+		while (iteraciones < maximoIteraciones) {
+			// El residuo de la aproximacion actual sale del mismo recorrido
+			double residuo = 0;
+			for (int i = 0; i < n; i++) {
+				double r = b[i] - a.productoFila(i, actual);
+				residuo += r * r;
+				siguiente[i] = x[i] + r / diagonal[i];
+			}
+			if (Math.sqrt(residuo) <= limite)
+				return;
+
+			iteraciones++;
+			System.arraycopy(siguiente, 0, x, 0, n);
+		}
+	}
+}
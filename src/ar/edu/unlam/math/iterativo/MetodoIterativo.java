@@ -0,0 +1,196 @@
+package ar.edu.unlam.math.iterativo;
+
+import ar.edu.unlam.math.OperadorLineal;
+import ar.edu.unlam.math.VectorMath;
+import ar.edu.unlam.math.exception.MatrizOperationException;
+import ar.edu.unlam.math.exception.NoConvergenciaException;
+import ar.edu.unlam.math.nucleo.Nucleo;
+
+/**
+ * Método iterativo para resolver A·x = b que solamente accede a la matriz por
+ * medio de productos. Todos se detienen cuando ||b - A·x|| <= tolerancia·||b||
+ * o al alcanzar la cantidad máxima de iteraciones, y luego informan la cantidad
+ * de iteraciones realizadas y la norma dos del residuo, calculada igual que en
+ * {@link ar.edu.unlam.math.SEL#calcularError()}. Si un método se estanca antes
+ * de llegar a la tolerancia deja de iterar, y en ambos casos se lanza
+ * {@link NoConvergenciaException} con la última aproximación.
+ *
+ * @author yoni
+ *
+ */
+public abstract class MetodoIterativo {
+	private static final Nucleo NUCLEO = Nucleo.getInstancia();
+
+	public static final double TOLERANCIA_POR_DEFECTO = 1E-12;
+	public static final int MAXIMO_ITERACIONES_POR_DEFECTO = 10000;
+
+	// Atributos ~
+	// -----------------------------------------------------------------
+	protected double tolerancia;
+	protected int maximoIteraciones;
+	protected int iteraciones;
+	protected double residuo;
+
+	// Constructores ~
+	// -----------------------------------------------------------------
+	public MetodoIterativo() {
+		this(TOLERANCIA_POR_DEFECTO, MAXIMO_ITERACIONES_POR_DEFECTO);
+	}
+
+	/**
+	 * @param tolerancia
+	 *            se detiene cuando ||b - A·x|| <= tolerancia·||b||
+	 * @param maximoIteraciones
+	 *            cantidad máxima de iteraciones
+	 */
+	public MetodoIterativo(double tolerancia, int maximoIteraciones) {
+		this.tolerancia = tolerancia;
+		this.maximoIteraciones = maximoIteraciones;
+	}
+
+	// Getters and setters ~
+	// -----------------------------------------------------------------
+	public double getTolerancia() {
+		return tolerancia;
+	}
+
+	public void setTolerancia(double tolerancia) {
+		this.tolerancia = tolerancia;
+	}
+
+	public int getMaximoIteraciones() {
+		return maximoIteraciones;
+	}
+
+	public void setMaximoIteraciones(int maximoIteraciones) {
+		this.maximoIteraciones = maximoIteraciones;
+	}
+
+	/**
+	 * Cantidad de iteraciones realizadas en la última resolución
+	 */
+	public int getIteraciones() {
+		return iteraciones;
+	}
+
+	/**
+	 * Norma dos del residuo b - A·x de la última resolución
+	 */
+	public double getResiduo() {
+		return residuo;
+	}
+
+	// Metodos ~
+	// -----------------------------------------------------------------
+	/**
+	 * Resuelve el sistema A·x = b
+	 *
+	 * @param a
+	 *            Matriz de coeficientes
+	 * @param b
+	 *            Vector de términos independientes
+	 * @param x0
+	 *            Aproximación inicial, o null para comenzar desde cero
+	 * @return Aproximación de x
+	 * @throws NoConvergenciaException
+	 *             Si el método no alcanza la tolerancia, con la última
+	 *             aproximación
+	 * @throws MatrizOperationException
+	 *             Si las dimensiones no coinciden o el método no puede
+	 *             aplicarse a la matriz
+	 */
+	public VectorMath resolver(OperadorLineal a, VectorMath b, VectorMath x0) throws MatrizOperationException {
+		int n = b.getDimension();
+		if (a.getDimension()[0] != n || a.getDimension()[1] != n)
+			throw new MatrizOperationException(
+					"Para resolver la matriz debe ser cuadrada y su dimension coincidir con la del vector");
+		if (x0 != null && x0.getDimension() != n)
+			throw new MatrizOperationException(
+					"La aproximacion inicial debe tener la misma dimension que el vector de terminos independientes");
+
+		double[] x = x0 == null ? new double[n] : x0.getValores().clone();
+		double normaB = b.normaDos();
+		double limite = tolerancia * (normaB == 0 ? 1 : normaB);
+
+		iteraciones = 0;
+		iterar(a, b.getValores(), x, limite);
+
+		// Informo el residuo verdadero, no el que arrastra la iteracion
+		residuo = a.normaResiduo(vector(x), b);
+		// Negado para que un residuo NaN tampoco se tome como convergencia
+		if (!(residuo <= limite))
+			throw new NoConvergenciaException("El metodo " + getClass().getSimpleName() + " no convergio en "
+					+ iteraciones + " iteraciones", new VectorMath(x), residuo, iteraciones);
+
+		return new VectorMath(x);
+	}
+
+	/**
+	 * Mejora la aproximación x en el lugar hasta que la norma del residuo no
+	 * supere el límite, se alcance la cantidad máxima de iteraciones o el
+	 * método se estanque, actualizando el contador de iteraciones
+	 *
+	 * @param a
+	 *            Matriz de coeficientes
+	 * @param b
+	 *            Vector de términos independientes
+	 * @param x
+	 *            Aproximación inicial, se modifica
+	 * @param limite
+	 *            norma del residuo a alcanzar
+	 */
+	protected abstract void iterar(OperadorLineal a, double[] b, double[] x, double limite)
+			throws MatrizOperationException;
+
+	/**
+	 * Calcula b - A·x
+	 */
+	protected static double[] residuo(OperadorLineal a, double[] b, double[] x) throws MatrizOperationException {
+		double[] r = new double[b.length];
+		residuo(a, b, vector(x), vector(r));
+		return r;
+	}
+
+	/**
+	 * Calcula b - A·x y lo guarda en destino, sin crear otro vector
+	 */
+	protected static void residuo(OperadorLineal a, double[] b, VectorMath x, VectorMath destino)
+			throws MatrizOperationException {
+		a.multiplicar(x, destino);
+		double[] r = destino.getValores();
+		for (int i = 0; i < r.length; i++)
+			r[i] = b[i] - r[i];
+	}
+
+	/**
+	 * Crea un vector que utiliza el arreglo u, sin copiarlo, para poder
+	 * multiplicarlo por la matriz en cada iteración
+	 */
+	protected static VectorMath vector(double[] u) {
+		VectorMath v = new VectorMath();
+		v.setValores(u);
+		return v;
+	}
+
+	protected static double producto(double[] u, double[] v) {
+		return NUCLEO.producto(u, 0, v, 0, u.length);
+	}
+
+	protected static double norma(double[] u) {
+		return Math.sqrt(NUCLEO.sumaCuadrados(u, 0, u.length));
+	}
+
+	/**
+	 * Obtiene la diagonal de la matriz, verificando que no tenga ceros
+	 */
+	protected static double[] diagonal(OperadorLineal a) throws MatrizOperationException {
+		int n = a.getDimension()[0];
+		double[] diagonal = new double[n];
+		for (int i = 0; i < n; i++) {
+			diagonal[i] = a.get(i, i);
+			if (diagonal[i] == 0)
+				throw new MatrizOperationException("El metodo requiere que la diagonal no tenga ceros");
+		}
+		return diagonal;
+	}
+}
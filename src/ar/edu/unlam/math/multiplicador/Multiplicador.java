@@ -0,0 +1,13 @@
+package ar.edu.unlam.math.multiplicador;
+
+import ar.edu.unlam.math.MatrizMath;
+
+public interface Multiplicador {
+	/**
+	 * Multiplica dos matrices. Las dimensiones ya fueron verificadas, es decir
+	 * que el numero de columnas de a coincide con el numero de filas de b
+	 * 
+	 * @return Matriz producto a·b
+	 */
+	public MatrizMath multiplicar(MatrizMath a, MatrizMath b);
+}
@@ -0,0 +1,119 @@
+package ar.edu.unlam.math.multiplicador;
+
+import ar.edu.unlam.math.MatrizMath;
+
+/**
+ * Multiplica matrices por bloques. Las matrices se recorren en bloques que
+ * entran en la memoria cache y dentro de cada bloque se usa el orden i-k-j, de
+ * modo que las filas de B y de C se leen en forma secuencial. Además se
+ * calculan dos filas de C a la vez para reutilizar cada valor de B leido.
+ * 
+ * @author yoni
+ * 
+ */
+public class MultiplicadorBloques implements Multiplicador {
+	/**
+	 * Cantidad de filas de A procesadas por bloque
+	 */
+	static final int BLOQUE_I = 64;
+	/**
+	 * Cantidad de columnas de A (filas de B) procesadas por bloque
+	 */
+	static final int BLOQUE_K = 128;
+	/**
+	 * Cantidad de columnas de B procesadas por bloque
+	 */
+	static final int BLOQUE_J = 512;
+
+	@Override
+	public MatrizMath multiplicar(MatrizMath a, MatrizMath b) {
+		int filas = a.getDimension()[0];
+		int comun = a.getDimension()[1];
+		int columnas = b.getDimension()[1];
+		double[] c = new double[filas * columnas];
+		multiplicar(1, a.getValores(), 0, comun, b.getValores(), 0, columnas, c, 0, columnas, filas, comun, columnas);
+		return new MatrizMath(filas, columnas, c);
+	}
+
+	/**
+	 * Calcula C = C + alfa·A·B sobre porciones de arreglos ordenados por filas.
+	 * Cada matriz se indica con su arreglo, la posición de su primer elemento y
+	 * la distancia entre el comienzo de dos filas consecutivas.
+	 * 
+	 * @param alfa
+	 *            escalar que multiplica al producto
+	 * @param filas
+	 *            numero de filas de A y de C
+	 * @param comun
+	 *            numero de columnas de A y de filas de B
+	 * @param columnas
+	 *            numero de columnas de B y de C
+	 */
+	public static void multiplicar(double alfa, double[] a, int inicioA, int pasoA, double[] b, int inicioB,
+			int pasoB, double[] c, int inicioC, int pasoC, int filas, int comun, int columnas) {
+		for (int i0 = 0; i0 < filas; i0 += BLOQUE_I) {
+			int i1 = Math.min(i0 + BLOQUE_I, filas);
+			for (int k0 = 0; k0 < comun; k0 += BLOQUE_K) {
+				int k1 = Math.min(k0 + BLOQUE_K, comun);
+				for (int j0 = 0; j0 < columnas; j0 += BLOQUE_J) {
+					int j1 = Math.min(j0 + BLOQUE_J, columnas);
+					multiplicarBloque(alfa, a, inicioA, pasoA, b, inicioB, pasoB, c, inicioC, pasoC, i0, i1, k0, k1,
+							j0, j1);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Multiplica un bloque en orden i-k-j, calculando dos filas de C y dos
+	 * valores de k por pasada
+	 */
+	private static void multiplicarBloque(double alfa, double[] a, int inicioA, int pasoA, double[] b, int inicioB,
+			int pasoB, double[] c, int inicioC, int pasoC, int i0, int i1, int k0, int k1, int j0, int j1) {
+		int i = i0;
+		for (; i + 1 < i1; i += 2) {
+			int filaA0 = inicioA + i * pasoA;
+			int filaA1 = filaA0 + pasoA;
+			int filaC0 = inicioC + i * pasoC;
+			int filaC1 = filaC0 + pasoC;
+			int k = k0;
+			for (; k + 1 < k1; k += 2) {
+				double a00 = alfa * a[filaA0 + k];
+				double a01 = alfa * a[filaA0 + k + 1];
+				double a10 = alfa * a[filaA1 + k];
+				double a11 = alfa * a[filaA1 + k + 1];
+				int filaB0 = inicioB + k * pasoB;
+				int filaB1 = filaB0 + pasoB;
+				for (int j = j0; j < j1; j++) {
+					double b0 = b[filaB0 + j];
+					double b1 = b[filaB1 + j];
+					c[filaC0 + j] += a00 * b0 + a01 * b1;
+					c[filaC1 + j] += a10 * b0 + a11 * b1;
+				}
+			}
+			if (k < k1) {
+				double a00 = alfa * a[filaA0 + k];
+				double a10 = alfa * a[filaA1 + k];
+				int filaB0 = inicioB + k * pasoB;
+				for (int j = j0; j < j1; j++) {
+					double b0 = b[filaB0 + j];
+					c[filaC0 + j] += a00 * b0;
+					c[filaC1 + j] += a10 * b0;
+				}
+			}
+		}
+		// Fila restante cuando la cantidad de filas del bloque es impar
+		if (i < i1) {
+			int filaA = inicioA + i * pasoA;
+			int filaC = inicioC + i * pasoC;
+			for (int k = k0; k < k1; k++) {
+				double aik = alfa * a[filaA + k];
+				if (aik != 0) {
+					int filaB = inicioB + k * pasoB;
+					for (int j = j0; j < j1; j++)
+						c[filaC + j] += aik * b[filaB + j];
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,143 @@
+package ar.edu.unlam.math.multiplicador;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import ar.edu.unlam.math.MatrizMath;
+import ar.edu.unlam.math.paralelo.PoolCompartido;
+
+/**
+ * Multiplica matrices dividiendo el resultado en porciones de filas y columnas
+ * que se calculan en paralelo sobre un {@link ForkJoinPool}. Cada porción se
+ * calcula con el algoritmo de {@link MultiplicadorBloques}. Si la cantidad de
+ * operaciones no supera el umbral el producto se calcula en forma secuencial.
+ * 
+ * @author yoni
+ * 
+ */
+public class MultiplicadorParalelo implements Multiplicador {
+	/**
+	 * Cantidad de multiplicaciones por debajo de la cual no conviene dividir
+	 */
+	public static final long UMBRAL_POR_DEFECTO = 64 * 64 * 64;
+
+	// Atributos ~
+	// -----------------------------------------------------------------
+	private final ForkJoinPool pool;
+	private final long umbral;
+
+	// Constructores ~
+	// -----------------------------------------------------------------
+	/**
+	 * Utiliza el pool compartido, con un hilo por procesador disponible
+	 */
+	public MultiplicadorParalelo() {
+		this(PoolCompartido.getPool());
+	}
+
+	/**
+	 * @param pool
+	 *            pool en el que se reparte el trabajo, quien lo crea debe
+	 *            cerrarlo
+	 */
+	public MultiplicadorParalelo(ForkJoinPool pool) {
+		this(pool, UMBRAL_POR_DEFECTO);
+	}
+
+	/**
+	 * @param pool
+	 *            pool en el que se reparte el trabajo, quien lo crea debe
+	 *            cerrarlo
+	 * @param umbral
+	 *            cantidad de multiplicaciones por debajo de la cual el producto
+	 *            se calcula en forma secuencial
+	 */
+	public MultiplicadorParalelo(ForkJoinPool pool, long umbral) {
+		this.pool = pool;
+		this.umbral = umbral;
+	}
+
+	// Metodos ~
+	// -----------------------------------------------------------------
+	@Override
+	public MatrizMath multiplicar(MatrizMath a, MatrizMath b) {
+		int filas = a.getDimension()[0];
+		int comun = a.getDimension()[1];
+		int columnas = b.getDimension()[1];
+		double[] c = new double[filas * columnas];
+		multiplicar(1, a.getValores(), 0, comun, b.getValores(), 0, columnas, c, 0, columnas, filas, comun, columnas);
+		return new MatrizMath(filas, columnas, c);
+	}
+
+	/**
+	 * Calcula C = C + alfa·A·B sobre porciones de arreglos ordenados por filas,
+	 * con los mismos parámetros que
+	 * {@link MultiplicadorBloques#multiplicar(double, double[], int, int, double[], int, int, double[], int, int, int, int, int)}
+	 * pero repartiendo el trabajo entre los hilos del pool
+	 */
+	public void multiplicar(double alfa, double[] a, int inicioA, int pasoA, double[] b, int inicioB, int pasoB,
+			double[] c, int inicioC, int pasoC, int filas, int comun, int columnas) {
+		if ((long) filas * comun * columnas <= umbral || pool.getParallelism() == 1)
+			MultiplicadorBloques.multiplicar(alfa, a, inicioA, pasoA, b, inicioB, pasoB, c, inicioC, pasoC, filas,
+					comun, columnas);
+		else
+			pool.invoke(new Porcion(alfa, a, inicioA, pasoA, b, inicioB, pasoB, c, inicioC, pasoC, comun, 0, filas, 0,
+					columnas));
+	}
+
+	/**
+	 * Porción del resultado comprendida entre las filas [i0, i1) y las columnas
+	 * [j0, j1)
+	 */
+	private class Porcion extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final double alfa;
+		private final double[] a, b, c;
+		private final int inicioA, pasoA, inicioB, pasoB, inicioC, pasoC, comun;
+		private final int i0, i1, j0, j1;
+
+		Porcion(double alfa, double[] a, int inicioA, int pasoA, double[] b, int inicioB, int pasoB, double[] c,
+				int inicioC, int pasoC, int comun, int i0, int i1, int j0, int j1) {
+			this.alfa = alfa;
+			this.a = a;
+			this.inicioA = inicioA;
+			this.pasoA = pasoA;
+			this.b = b;
+			this.inicioB = inicioB;
+			this.pasoB = pasoB;
+			this.c = c;
+			this.inicioC = inicioC;
+			this.pasoC = pasoC;
+			this.comun = comun;
+			this.i0 = i0;
+			this.i1 = i1;
+			this.j0 = j0;
+			this.j1 = j1;
+		}
+
+		@Override
+		protected void compute() {
+			int filasPorcion = i1 - i0;
+			int columnasPorcion = j1 - j0;
+			if ((long) filasPorcion * comun * columnasPorcion <= umbral || (filasPorcion == 1 && columnasPorcion == 1)) {
+				MultiplicadorBloques.multiplicar(alfa, a, inicioA + i0 * pasoA, pasoA, b, inicioB + j0, pasoB, c,
+						inicioC + i0 * pasoC + j0, pasoC, filasPorcion, comun, columnasPorcion);
+				return;
+			}
+
+			// Divido por la dimension mas larga para mantener porciones cuadradas
+			if (filasPorcion >= columnasPorcion) {
+				int medio = i0 + filasPorcion / 2;
+				invokeAll(dividir(i0, medio, j0, j1), dividir(medio, i1, j0, j1));
+			} else {
+				int medio = j0 + columnasPorcion / 2;
+				invokeAll(dividir(i0, i1, j0, medio), dividir(i0, i1, medio, j1));
+			}
+		}
+
+		private Porcion dividir(int i0, int i1, int j0, int j1) {
+			return new Porcion(alfa, a, inicioA, pasoA, b, inicioB, pasoB, c, inicioC, pasoC, comun, i0, i1, j0, j1);
+		}
+	}
+}
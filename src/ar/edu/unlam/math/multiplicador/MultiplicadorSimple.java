@@ -0,0 +1,31 @@
+package ar.edu.unlam.math.multiplicador;
+
+import ar.edu.unlam.math.MatrizMath;
+
+/**
+ * Multiplica matrices con el algoritmo clásico de tres ciclos i-j-k
+ * 
+ * @author yoni
+ * 
+ */
+public class MultiplicadorSimple implements Multiplicador {
+
+	@Override
+	public MatrizMath multiplicar(MatrizMath a, MatrizMath b) {
+		int filas = a.getDimension()[0];
+		int comun = a.getDimension()[1];
+		int columnas = b.getDimension()[1];
+		double[] valoresA = a.getValores();
+		double[] valoresB = b.getValores();
+		double[] resultado = new double[filas * columnas];
+
+		for (int i = 0; i < filas; i++)
+			for (int j = 0; j < columnas; j++) {
+				double suma = 0;
+				for (int k = 0; k < comun; k++)
+					suma += valoresA[i * comun + k] * valoresB[k * columnas + j];
+				resultado[i * columnas + j] = suma;
+			}
+		return new MatrizMath(filas, columnas, resultado);
+	}
+}
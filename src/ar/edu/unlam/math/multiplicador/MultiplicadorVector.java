@@ -0,0 +1,205 @@
+package ar.edu.unlam.math.multiplicador;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import ar.edu.unlam.math.nucleo.Nucleo;
+import ar.edu.unlam.math.paralelo.PoolCompartido;
+
+/**
+ * Multiplica una matriz guardada por filas por un vector, directamente sobre
+ * los arreglos y sin crear matrices intermedias. El producto A·x reparte las
+ * filas del resultado entre los hilos de un {@link ForkJoinPool}; el producto
+ * transpuesto Aᵀ·x recorre igualmente A por filas, sumando cada fila
+ * multiplicada por su componente de x, y reparte las columnas del resultado
+ * para que dos hilos nunca escriban la misma posición. Si la matriz no supera
+ * el umbral el producto se calcula en forma secuencial.
+ *
+ * @author yoni
+ *
+ */
+public class MultiplicadorVector {
+	private static final Nucleo NUCLEO = Nucleo.getInstancia();
+
+	/**
+	 * Cantidad de elementos de la matriz por debajo de la cual no conviene
+	 * dividir
+	 */
+	public static final long UMBRAL_POR_DEFECTO = 256 * 256;
+	/**
+	 * Ancho mínimo de las porciones de columnas del producto transpuesto
+	 */
+	private static final int ANCHO_MINIMO = 64;
+
+	// Atributos ~
+	// -----------------------------------------------------------------
+	private final ForkJoinPool pool;
+	private final long umbral;
+
+	// Constructores ~
+	// -----------------------------------------------------------------
+	/**
+	 * Utiliza el pool compartido, con un hilo por procesador disponible
+	 */
+	public MultiplicadorVector() {
+		this(PoolCompartido.getPool());
+	}
+
+	/**
+	 * @param pool
+	 *            pool en el que se reparte el trabajo, quien lo crea debe
+	 *            cerrarlo
+	 */
+	public MultiplicadorVector(ForkJoinPool pool) {
+		this(pool, UMBRAL_POR_DEFECTO);
+	}
+
+	/**
+	 * @param pool
+	 *            pool en el que se reparte el trabajo, quien lo crea debe
+	 *            cerrarlo
+	 * @param umbral
+	 *            cantidad de elementos de la matriz por debajo de la cual el
+	 *            producto se calcula en forma secuencial
+	 */
+	public MultiplicadorVector(ForkJoinPool pool, long umbral) {
+		this.pool = pool;
+		this.umbral = umbral;
+	}
+
+	// Metodos ~
+	// -----------------------------------------------------------------
+	/**
+	 * Calcula y = A·x. Las dimensiones ya fueron verificadas
+	 *
+	 * @param a
+	 *            Valores de la matriz, ordenados por filas
+	 * @param filas
+	 *            numero de filas de a
+	 * @param columnas
+	 *            numero de columnas de a
+	 * @param x
+	 *            Vector de dimension columnas
+	 * @param y
+	 *            Vector de dimension filas donde se guarda el resultado
+	 */
+	public void multiplicar(double[] a, int filas, int columnas, double[] x, double[] y) {
+		if ((long) filas * columnas <= umbral || pool.getParallelism() == 1)
+			multiplicar(a, columnas, x, y, 0, filas);
+		else
+			pool.invoke(new Filas(a, columnas, x, y, 0, filas, minimoPorTarea()));
+	}
+
+	/**
+	 * Calcula y = Aᵀ·x. Las dimensiones ya fueron verificadas
+	 *
+	 * @param a
+	 *            Valores de la matriz, ordenados por filas
+	 * @param filas
+	 *            numero de filas de a
+	 * @param columnas
+	 *            numero de columnas de a
+	 * @param x
+	 *            Vector de dimension filas
+	 * @param y
+	 *            Vector de dimension columnas donde se guarda el resultado
+	 */
+	public void multiplicarTranspuesta(double[] a, int filas, int columnas, double[] x, double[] y) {
+		if ((long) filas * columnas <= umbral || pool.getParallelism() == 1)
+			multiplicarTranspuesta(a, filas, columnas, x, y, 0, columnas);
+		else
+			pool.invoke(new Columnas(a, filas, columnas, x, y, 0, columnas, minimoPorTarea()));
+	}
+
+	/**
+	 * Cantidad de elementos por debajo de la cual una tarea no se divide
+	 */
+	private long minimoPorTarea() {
+		return Math.max(umbral / 4, ANCHO_MINIMO * ANCHO_MINIMO);
+	}
+
+	/**
+	 * Calcula las filas [desde, hasta) de A·x
+	 */
+	private static void multiplicar(double[] a, int columnas, double[] x, double[] y, int desde, int hasta) {
+		for (int i = desde; i < hasta; i++)
+			y[i] = NUCLEO.producto(a, i * columnas, x, 0, columnas);
+	}
+
+	/**
+	 * Calcula las columnas [desde, hasta) de Aᵀ·x
+	 */
+	private static void multiplicarTranspuesta(double[] a, int filas, int columnas, double[] x, double[] y,
+			int desde, int hasta) {
+		for (int j = desde; j < hasta; j++)
+			y[j] = 0;
+		for (int i = 0; i < filas; i++)
+			if (x[i] != 0)
+				NUCLEO.axpy(x[i], a, i * columnas + desde, y, desde, hasta - desde);
+	}
+
+	/**
+	 * Porción de A·x comprendida entre las filas [desde, hasta)
+	 */
+	private static class Filas extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final double[] a, x, y;
+		private final int columnas, desde, hasta;
+		private final long minimo;
+
+		Filas(double[] a, int columnas, double[] x, double[] y, int desde, int hasta, long minimo) {
+			this.a = a;
+			this.columnas = columnas;
+			this.x = x;
+			this.y = y;
+			this.desde = desde;
+			this.hasta = hasta;
+			this.minimo = minimo;
+		}
+
+		@Override
+		protected void compute() {
+			if ((long) (hasta - desde) * columnas <= minimo || hasta - desde == 1) {
+				multiplicar(a, columnas, x, y, desde, hasta);
+				return;
+			}
+			int medio = desde + (hasta - desde) / 2;
+			invokeAll(new Filas(a, columnas, x, y, desde, medio, minimo), new Filas(a, columnas, x, y, medio,
+					hasta, minimo));
+		}
+	}
+
+	/**
+	 * Porción de Aᵀ·x comprendida entre las columnas [desde, hasta)
+	 */
+	private static class Columnas extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final double[] a, x, y;
+		private final int filas, columnas, desde, hasta;
+		private final long minimo;
+
+		Columnas(double[] a, int filas, int columnas, double[] x, double[] y, int desde, int hasta, long minimo) {
+			this.a = a;
+			this.filas = filas;
+			this.columnas = columnas;
+			this.x = x;
+			this.y = y;
+			this.desde = desde;
+			this.hasta = hasta;
+			this.minimo = minimo;
+		}
+
+		@Override
+		protected void compute() {
+			if ((long) filas * (hasta - desde) <= minimo || hasta - desde < 2 * ANCHO_MINIMO) {
+				multiplicarTranspuesta(a, filas, columnas, x, y, desde, hasta);
+				return;
+			}
+			int medio = desde + (hasta - desde) / 2;
+			invokeAll(new Columnas(a, filas, columnas, x, y, desde, medio, minimo), new Columnas(a, filas,
+					columnas, x, y, medio, hasta, minimo));
+		}
+	}
+}
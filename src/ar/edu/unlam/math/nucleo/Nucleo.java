@@ -0,0 +1,120 @@
+package ar.edu.unlam.math.nucleo;
+
+/**
+ * Operaciones básicas sobre porciones de arreglos de double, que utilizan los
+ * vectores, las filas de las matrices y los ciclos de eliminación. La
+ * implementación se elige una sola vez al cargar la clase, con la propiedad
+ * de sistema {@value #PROPIEDAD}: "escalar" recorre los arreglos con un solo
+ * acumulador, "desenrollado" (por defecto) reparte las sumas en varios
+ * acumuladores independientes y "vectorial" utiliza la Vector API de Java 16 o
+ * posterior. El núcleo vectorial se compila aparte, desde src-vector, y se
+ * carga por su nombre; si no está disponible se utiliza el núcleo por defecto.
+ *
+ * @author yoni
+ *
+ */
+public abstract class Nucleo {
+	/**
+	 * Propiedad de sistema con el nombre del núcleo a utilizar
+	 */
+	public static final String PROPIEDAD = "ar.edu.unlam.math.nucleo";
+	public static final String ESCALAR = "escalar";
+	public static final String DESENROLLADO = "desenrollado";
+	public static final String VECTORIAL = "vectorial";
+	/**
+	 * Clase del núcleo vectorial, que no forma parte de la compilación para
+	 * Java 7
+	 */
+	private static final String CLASE_VECTORIAL = "ar.edu.unlam.math.nucleo.NucleoVectorial";
+
+	private static final Nucleo INSTANCIA = elegir(System.getProperty(PROPIEDAD, DESENROLLADO));
+
+	// Metodos ~
+	// -----------------------------------------------------------------
+	/**
+	 * @return Núcleo elegido al iniciar
+	 */
+	public static Nucleo getInstancia() {
+		return INSTANCIA;
+	}
+
+	/**
+	 * Crea el núcleo de la propiedad de sistema. Un nombre desconocido no puede
+	 * impedir que se carguen las clases que usan el núcleo, por lo que se
+	 * informa y se utiliza el núcleo por defecto
+	 */
+	private static Nucleo elegir(String nombre) {
+		try {
+			return crear(nombre);
+		} catch (IllegalArgumentException e) {
+			System.err.println(e.getMessage() + " indicado en " + PROPIEDAD + ", se utiliza " + DESENROLLADO);
+			return new NucleoDesenrollado();
+		}
+	}
+
+	/**
+	 * Crea el núcleo indicado por su nombre
+	 *
+	 * @param nombre
+	 *            "escalar", "desenrollado" o "vectorial"
+	 * @throws IllegalArgumentException
+	 *             Si el nombre no corresponde a ningún núcleo
+	 */
+	public static Nucleo crear(String nombre) {
+		if (ESCALAR.equals(nombre))
+			return new NucleoEscalar();
+		if (DESENROLLADO.equals(nombre))
+			return new NucleoDesenrollado();
+		if (VECTORIAL.equals(nombre))
+			return crearVectorial();
+		throw new IllegalArgumentException("No existe el nucleo " + nombre);
+	}
+
+	/**
+	 * Carga el núcleo vectorial por su nombre. Si la clase no se compiló o la
+	 * máquina virtual no tiene el módulo jdk.incubator.vector (se agrega con
+	 * --add-modules), se informa y se utiliza el núcleo por defecto
+	 */
+	private static Nucleo crearVectorial() {
+		try {
+			return (Nucleo) Class.forName(CLASE_VECTORIAL).getDeclaredConstructor().newInstance();
+		} catch (Exception | LinkageError e) {
+			System.err.println("No se pudo cargar el nucleo " + VECTORIAL + " (" + e + "), se utiliza "
+					+ DESENROLLADO);
+			return new NucleoDesenrollado();
+		}
+	}
+
+	/**
+	 * Producto interno de los n valores de a desde inicioA por los n valores
+	 * de b desde inicioB
+	 */
+	public abstract double producto(double[] a, int inicioA, double[] b, int inicioB, int n);
+
+	/**
+	 * Suma de los valores absolutos de los n valores de a desde inicio
+	 */
+	public abstract double sumaAbsolutos(double[] a, int inicio, int n);
+
+	/**
+	 * Suma de los cuadrados de los n valores de a desde inicio
+	 */
+	public abstract double sumaCuadrados(double[] a, int inicio, int n);
+
+	/**
+	 * Mayor valor absoluto de los n valores de a desde inicio. Si alguno es
+	 * NaN el resultado es NaN, igual que en las sumas, en todos los núcleos
+	 */
+	public abstract double maximoAbsoluto(double[] a, int inicio, int n);
+
+	/**
+	 * Suma a los n valores de y desde inicioY los de x desde inicioX
+	 * multiplicados por alfa (y = y + alfa·x)
+	 */
+	public abstract void axpy(double alfa, double[] x, int inicioX, double[] y, int inicioY, int n);
+
+	/**
+	 * Multiplica por alfa los n valores de a desde inicio
+	 */
+	public abstract void escalar(double alfa, double[] a, int inicio, int n);
+}
@@ -0,0 +1,76 @@
+package ar.edu.unlam.math.nucleo;
+
+/**
+ * Núcleo que reparte las sumas en cuatro acumuladores independientes. Con un
+ * solo acumulador cada suma debe esperar a la anterior y el compilador no
+ * puede reordenarlas sin cambiar el resultado; con cuatro el procesador las
+ * realiza en paralelo. El resultado puede diferir del escalar en el redondeo.
+ *
+ * Las operaciones que no acumulan (axpy y escalar) son las del núcleo escalar,
+ * cuyos ciclos el compilador ya vectoriza.
+ *
+ * @author yoni
+ *
+ */
+public class NucleoDesenrollado extends NucleoEscalar {
+
+	@Override
+	public double producto(double[] a, int inicioA, double[] b, int inicioB, int n) {
+		double s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+		int i = 0;
+		for (; i <= n - 4; i += 4) {
+			s0 += a[inicioA + i] * b[inicioB + i];
+			s1 += a[inicioA + i + 1] * b[inicioB + i + 1];
+			s2 += a[inicioA + i + 2] * b[inicioB + i + 2];
+			s3 += a[inicioA + i + 3] * b[inicioB + i + 3];
+		}
+		for (; i < n; i++)
+			s0 += a[inicioA + i] * b[inicioB + i];
+		return (s0 + s1) + (s2 + s3);
+	}
+
+	@Override
+	public double sumaAbsolutos(double[] a, int inicio, int n) {
+		double s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+		int i = inicio, fin = inicio + n;
+		for (; i <= fin - 4; i += 4) {
+			s0 += Math.abs(a[i]);
+			s1 += Math.abs(a[i + 1]);
+			s2 += Math.abs(a[i + 2]);
+			s3 += Math.abs(a[i + 3]);
+		}
+		for (; i < fin; i++)
+			s0 += Math.abs(a[i]);
+		return (s0 + s1) + (s2 + s3);
+	}
+
+	@Override
+	public double sumaCuadrados(double[] a, int inicio, int n) {
+		double s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+		int i = inicio, fin = inicio + n;
+		for (; i <= fin - 4; i += 4) {
+			s0 += a[i] * a[i];
+			s1 += a[i + 1] * a[i + 1];
+			s2 += a[i + 2] * a[i + 2];
+			s3 += a[i + 3] * a[i + 3];
+		}
+		for (; i < fin; i++)
+			s0 += a[i] * a[i];
+		return (s0 + s1) + (s2 + s3);
+	}
+
+	@Override
+	public double maximoAbsoluto(double[] a, int inicio, int n) {
+		double m0 = 0, m1 = 0, m2 = 0, m3 = 0;
+		int i = inicio, fin = inicio + n;
+		for (; i <= fin - 4; i += 4) {
+			m0 = Math.max(m0, Math.abs(a[i]));
+			m1 = Math.max(m1, Math.abs(a[i + 1]));
+			m2 = Math.max(m2, Math.abs(a[i + 2]));
+			m3 = Math.max(m3, Math.abs(a[i + 3]));
+		}
+		for (; i < fin; i++)
+			m0 = Math.max(m0, Math.abs(a[i]));
+		return Math.max(Math.max(m0, m1), Math.max(m2, m3));
+	}
+}
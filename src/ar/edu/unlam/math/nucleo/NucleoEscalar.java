@@ -0,0 +1,55 @@
+package ar.edu.unlam.math.nucleo;
+
+/**
+ * Núcleo que recorre los arreglos de a un elemento, con un solo acumulador.
+ * Las sumas se hacen en el mismo orden que los ciclos originales
+ *
+ * @author yoni
+ *
+ */
+public class NucleoEscalar extends Nucleo {
+
+	@Override
+	public double producto(double[] a, int inicioA, double[] b, int inicioB, int n) {
+		double suma = 0;
+		for (int i = 0; i < n; i++)
+			suma += a[inicioA + i] * b[inicioB + i];
+		return suma;
+	}
+
+	@Override
+	public double sumaAbsolutos(double[] a, int inicio, int n) {
+		double suma = 0;
+		for (int i = inicio; i < inicio + n; i++)
+			suma += Math.abs(a[i]);
+		return suma;
+	}
+
+	@Override
+	public double sumaCuadrados(double[] a, int inicio, int n) {
+		double suma = 0;
+		for (int i = inicio; i < inicio + n; i++)
+			suma += a[i] * a[i];
+		return suma;
+	}
+
+	@Override
+	public double maximoAbsoluto(double[] a, int inicio, int n) {
+		double maximo = 0;
+		for (int i = inicio; i < inicio + n; i++)
+			maximo = Math.max(maximo, Math.abs(a[i]));
+		return maximo;
+	}
+
+	@Override
+	public void axpy(double alfa, double[] x, int inicioX, double[] y, int inicioY, int n) {
+		for (int i = 0; i < n; i++)
+			y[inicioY + i] += alfa * x[inicioX + i];
+	}
+
+	@Override
+	public void escalar(double alfa, double[] a, int inicio, int n) {
+		for (int i = inicio; i < inicio + n; i++)
+			a[i] *= alfa;
+	}
+}
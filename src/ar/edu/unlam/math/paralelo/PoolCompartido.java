@@ -0,0 +1,32 @@
+package ar.edu.unlam.math.paralelo;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Único {@link ForkJoinPool} de la biblioteca, con un hilo por procesador
+ * disponible. Lo comparten los multiplicadores, el transpositor y los
+ * trianguladores, así la cantidad de hilos no crece con la cantidad de objetos
+ * creados. Se crea recién cuando alguien lo pide y sus hilos terminan solos
+ * cuando quedan ociosos, por lo que no hace falta cerrarlo.
+ *
+ * Quien necesite otro grado de paralelismo puede pasar su propio pool a cada
+ * constructor, y es responsable de cerrarlo con shutdown.
+ *
+ * @author yoni
+ *
+ */
+public final class PoolCompartido {
+	private static ForkJoinPool pool;
+
+	private PoolCompartido() {
+	}
+
+	/**
+	 * @return Pool compartido, creado en el primer llamado
+	 */
+	public static synchronized ForkJoinPool getPool() {
+		if (pool == null)
+			pool = new ForkJoinPool();
+		return pool;
+	}
+}
@@ -0,0 +1,286 @@
+package ar.edu.unlam.math.transpositor;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import ar.edu.unlam.math.paralelo.PoolCompartido;
+
+/**
+ * Transpone matrices guardadas en arreglos ordenados por filas con un algoritmo
+ * recursivo que no depende del tamaño de la caché: divide la matriz por su
+ * dimensión más larga hasta que los bloques son chicos, y recién entonces los
+ * copia. Así tanto la lectura por filas como la escritura por columnas se hacen
+ * sobre bloques que entran en la caché, en lugar de recorrer el destino con un
+ * salto de una fila completa por elemento.
+ *
+ * Las matrices cuadradas también pueden transponerse en el lugar,
+ * intercambiando cada bloque sobre la diagonal con su simétrico. Las matrices
+ * grandes se reparten entre los hilos de un {@link ForkJoinPool}.
+ *
+ * @author yoni
+ *
+ */
+public class Transpositor {
+	/**
+	 * Lado máximo de los bloques que se copian directamente
+	 */
+	private static final int HOJA = 32;
+	/**
+	 * Cantidad de elementos a partir de la cual se transpone en paralelo
+	 */
+	public static final long UMBRAL_POR_DEFECTO = 512 * 512;
+
+	// Atributos ~
+	// -----------------------------------------------------------------
+	private final ForkJoinPool pool;
+	private final long umbral;
+
+	// Constructores ~
+	// -----------------------------------------------------------------
+	/**
+	 * Utiliza el pool compartido, con un hilo por procesador disponible
+	 */
+	public Transpositor() {
+		this(PoolCompartido.getPool());
+	}
+
+	/**
+	 * @param pool
+	 *            pool en el que se reparte el trabajo, quien lo crea debe
+	 *            cerrarlo
+	 */
+	public Transpositor(ForkJoinPool pool) {
+		this(pool, UMBRAL_POR_DEFECTO);
+	}
+
+	/**
+	 * @param pool
+	 *            pool en el que se reparte el trabajo, quien lo crea debe
+	 *            cerrarlo
+	 * @param umbral
+	 *            cantidad de elementos por debajo de la cual se transpone en
+	 *            forma secuencial
+	 */
+	public Transpositor(ForkJoinPool pool, long umbral) {
+		this.pool = pool;
+		this.umbral = umbral;
+	}
+
+	// Metodos ~
+	// -----------------------------------------------------------------
+	/**
+	 * Guarda en destino la transpuesta de la matriz a, de filas × columnas
+	 *
+	 * @param a
+	 *            Valores de la matriz, ordenados por filas
+	 * @param filas
+	 *            numero de filas de a
+	 * @param columnas
+	 *            numero de columnas de a
+	 * @param destino
+	 *            Arreglo de columnas × filas donde se guarda la transpuesta
+	 */
+	public void transponer(double[] a, int filas, int columnas, double[] destino) {
+		if ((long) filas * columnas <= umbral || pool.getParallelism() == 1)
+			transponer(a, 0, columnas, destino, 0, filas, filas, columnas);
+		else
+			pool.invoke(new Porcion(a, 0, columnas, destino, 0, filas, filas, columnas, minimoPorTarea()));
+	}
+
+	/**
+	 * Transpone en el lugar la matriz cuadrada a, de n × n
+	 *
+	 * @param a
+	 *            Valores de la matriz, ordenados por filas
+	 * @param n
+	 *            dimension de la matriz
+	 */
+	public void transponer(double[] a, int n) {
+		if ((long) n * n <= umbral || pool.getParallelism() == 1)
+			transponerDiagonal(a, n, 0, n);
+		else
+			pool.invoke(new Diagonal(a, n, 0, n, minimoPorTarea()));
+	}
+
+	/**
+	 * Cantidad de elementos por debajo de la cual una tarea no se divide
+	 */
+	private long minimoPorTarea() {
+		return Math.max(umbral / 4, HOJA * HOJA);
+	}
+
+	/**
+	 * Copia en b la transpuesta del bloque de a de filas × columnas que empieza
+	 * en inicioA
+	 */
+	public static void transponer(double[] a, int inicioA, int pasoA, double[] b, int inicioB, int pasoB, int filas,
+			int columnas) {
+		if (filas <= HOJA && columnas <= HOJA) {
+			for (int i = 0; i < filas; i++) {
+				int filaA = inicioA + i * pasoA;
+				int columnaB = inicioB + i;
+				for (int j = 0; j < columnas; j++)
+					b[columnaB + j * pasoB] = a[filaA + j];
+			}
+		} else if (filas >= columnas) {
+			int mitad = filas / 2;
+			transponer(a, inicioA, pasoA, b, inicioB, pasoB, mitad, columnas);
+			transponer(a, inicioA + mitad * pasoA, pasoA, b, inicioB + mitad, pasoB, filas - mitad, columnas);
+		} else {
+			int mitad = columnas / 2;
+			transponer(a, inicioA, pasoA, b, inicioB, pasoB, filas, mitad);
+			transponer(a, inicioA + mitad, pasoA, b, inicioB + mitad * pasoB, pasoB, filas, columnas - mitad);
+		}
+	}
+
+	/**
+	 * Transpone en el lugar el bloque diagonal de lado tamanio que empieza en
+	 * (desde, desde)
+	 */
+	private static void transponerDiagonal(double[] a, int n, int desde, int tamanio) {
+		if (tamanio <= HOJA) {
+			for (int i = desde + 1; i < desde + tamanio; i++)
+				for (int j = desde; j < i; j++) {
+					double aux = a[i * n + j];
+					a[i * n + j] = a[j * n + i];
+					a[j * n + i] = aux;
+				}
+			return;
+		}
+		int mitad = tamanio / 2;
+		transponerDiagonal(a, n, desde, mitad);
+		transponerDiagonal(a, n, desde + mitad, tamanio - mitad);
+		intercambiar(a, n, desde + mitad, desde, tamanio - mitad, mitad);
+	}
+
+	/**
+	 * Intercambia el bloque de filas × columnas que empieza en (fila, columna),
+	 * debajo de la diagonal, con la transpuesta de su simétrico
+	 */
+	private static void intercambiar(double[] a, int n, int fila, int columna, int filas, int columnas) {
+		if (filas <= HOJA && columnas <= HOJA) {
+			for (int i = fila; i < fila + filas; i++)
+				for (int j = columna; j < columna + columnas; j++) {
+					double aux = a[i * n + j];
+					a[i * n + j] = a[j * n + i];
+					a[j * n + i] = aux;
+				}
+		} else if (filas >= columnas) {
+			int mitad = filas / 2;
+			intercambiar(a, n, fila, columna, mitad, columnas);
+			intercambiar(a, n, fila + mitad, columna, filas - mitad, columnas);
+		} else {
+			int mitad = columnas / 2;
+			intercambiar(a, n, fila, columna, filas, mitad);
+			intercambiar(a, n, fila, columna + mitad, filas, columnas - mitad);
+		}
+	}
+
+	/**
+	 * Transposición de un bloque fuera del lugar, dividiéndolo mientras tenga
+	 * más elementos que el mínimo por tarea
+	 */
+	private static class Porcion extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final double[] a, b;
+		private final int inicioA, pasoA, inicioB, pasoB, filas, columnas;
+		private final long minimo;
+
+		Porcion(double[] a, int inicioA, int pasoA, double[] b, int inicioB, int pasoB, int filas, int columnas,
+				long minimo) {
+			this.a = a;
+			this.inicioA = inicioA;
+			this.pasoA = pasoA;
+			this.b = b;
+			this.inicioB = inicioB;
+			this.pasoB = pasoB;
+			this.filas = filas;
+			this.columnas = columnas;
+			this.minimo = minimo;
+		}
+
+		@Override
+		protected void compute() {
+			if ((long) filas * columnas <= minimo) {
+				transponer(a, inicioA, pasoA, b, inicioB, pasoB, filas, columnas);
+			} else if (filas >= columnas) {
+				int mitad = filas / 2;
+				invokeAll(new Porcion(a, inicioA, pasoA, b, inicioB, pasoB, mitad, columnas, minimo), new Porcion(a,
+						inicioA + mitad * pasoA, pasoA, b, inicioB + mitad, pasoB, filas - mitad, columnas, minimo));
+			} else {
+				int mitad = columnas / 2;
+				invokeAll(new Porcion(a, inicioA, pasoA, b, inicioB, pasoB, filas, mitad, minimo), new Porcion(a,
+						inicioA + mitad, pasoA, b, inicioB + mitad * pasoB, pasoB, filas, columnas - mitad, minimo));
+			}
+		}
+	}
+
+	/**
+	 * Transposición en el lugar de un bloque diagonal: los dos bloques
+	 * diagonales y el intercambio de los bloques fuera de la diagonal son
+	 * independientes entre sí
+	 */
+	private static class Diagonal extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final double[] a;
+		private final int n, desde, tamanio;
+		private final long minimo;
+
+		Diagonal(double[] a, int n, int desde, int tamanio, long minimo) {
+			this.a = a;
+			this.n = n;
+			this.desde = desde;
+			this.tamanio = tamanio;
+			this.minimo = minimo;
+		}
+
+		@Override
+		protected void compute() {
+			if ((long) tamanio * tamanio <= minimo) {
+				transponerDiagonal(a, n, desde, tamanio);
+				return;
+			}
+			int mitad = tamanio / 2;
+			invokeAll(new Diagonal(a, n, desde, mitad, minimo), new Diagonal(a, n, desde + mitad, tamanio - mitad,
+					minimo), new Intercambio(a, n, desde + mitad, desde, tamanio - mitad, mitad, minimo));
+		}
+	}
+
+	/**
+	 * Intercambio de un bloque fuera de la diagonal con su simétrico
+	 */
+	private static class Intercambio extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final double[] a;
+		private final int n, fila, columna, filas, columnas;
+		private final long minimo;
+
+		Intercambio(double[] a, int n, int fila, int columna, int filas, int columnas, long minimo) {
+			this.a = a;
+			this.n = n;
+			this.fila = fila;
+			this.columna = columna;
+			this.filas = filas;
+			this.columnas = columnas;
+			this.minimo = minimo;
+		}
+
+		@Override
+		protected void compute() {
+			if ((long) filas * columnas <= minimo) {
+				intercambiar(a, n, fila, columna, filas, columnas);
+			} else if (filas >= columnas) {
+				int mitad = filas / 2;
+				invokeAll(new Intercambio(a, n, fila, columna, mitad, columnas, minimo), new Intercambio(a, n, fila
+						+ mitad, columna, filas - mitad, columnas, minimo));
+			} else {
+				int mitad = columnas / 2;
+				invokeAll(new Intercambio(a, n, fila, columna, filas, mitad, minimo), new Intercambio(a, n, fila,
+						columna + mitad, filas, columnas - mitad, minimo));
+			}
+		}
+	}
+}
@@ -2,64 +2,159 @@ package ar.edu.unlam.math.triangulador;
 
 import ar.edu.unlam.math.MatrizMath;
 import ar.edu.unlam.math.exception.MatrizOperationException;
+import ar.edu.unlam.math.nucleo.Nucleo;
 
-public class InversorGaussJordan implements Triangulador{
-	
-	
+/**
+ * Obtiene la inversa de una matriz por eliminación de Gauss-Jordan con pivoteo
+ * parcial. Cada candidato a pivote se compara relativo al mayor valor absoluto
+ * de su fila en la matriz original, así las filas con valores muy grandes o muy
+ * chicos no dominan la elección. La singularidad se detecta durante la misma
+ * eliminación, sin calcular antes el determinante: si el mejor pivote relativo
+ * de una columna no supera la tolerancia, la matriz se considera singular.
+ *
+ * La inversa se construye sobre el mismo arreglo que la matriz, sin una
+ * identidad aparte: al eliminar la columna k, esa columna ya no se necesita y
+ * pasa a guardar la columna k de la inversa. Los intercambios de filas del
+ * pivoteo se registran y al final se deshacen como intercambios de columnas,
+ * en orden inverso.
+ *
+ * @author yoni
+ *
+ */
+public class InversorGaussJordan implements Triangulador {
+	private static final Nucleo NUCLEO = Nucleo.getInstancia();
+
+	/**
+	 * Tolerancia relativa por defecto para considerar nulo un pivote
+	 */
+	public static final double TOLERANCIA_POR_DEFECTO = 1E-14;
+
+	// Atributos ~
+	// -----------------------------------------------------------------
+	private final double tolerancia;
+
+	// Constructores ~
+	// -----------------------------------------------------------------
+	public InversorGaussJordan() {
+		this(TOLERANCIA_POR_DEFECTO);
+	}
+
+	/**
+	 * @param tolerancia
+	 *            un pivote cuyo valor absoluto relativo a la escala de su fila
+	 *            no supera tolerancia · n se considera nulo
+	 */
+	public InversorGaussJordan(double tolerancia) {
+		this.tolerancia = tolerancia;
+	}
+
+	// Metodos ~
+	// -----------------------------------------------------------------
 	@Override
 	/**
-	 * Obtiene la inversa de la matriz m por medio de triangulación Gauss-Jordan
+	 * Obtiene la inversa de la matriz m por medio de triangulación Gauss-Jordan,
+	 * sin modificar m
 	 */
 	public MatrizMath triangular(MatrizMath m) throws MatrizOperationException {
+		MatrizMath inversa = m.clone();
+		invertir(inversa);
+		return inversa;
+	}
+
+	/**
+	 * Reemplaza los valores de m por los de su inversa, sin utilizar otra
+	 * matriz. Si la matriz es singular se lanza una excepción y m queda con
+	 * valores intermedios de la eliminación
+	 *
+	 * @param m
+	 *            Matriz a invertir
+	 * @throws MatrizOperationException
+	 *             La matriz debe ser cuadrada y no singular
+	 */
+	public void invertir(MatrizMath m) throws MatrizOperationException {
 		// Verifico si la matriz es cuadrada
 		int[] size = m.getDimension();
 		if (size[0] != size[1])
 			throw new MatrizOperationException("No es posible triangular una matriz que no sea cuadrada");
-		if (m.determinante() == 0)
-			throw new MatrizOperationException("La matriz no tiene inversa");
-		
-		// Clono la matriz para trabajar sobre una copia
-		MatrizMath r = m.clone();
-		MatrizMath inversa = m.getIdentidad();
-
-		// Busco un numero distinto de cero en la 1º posicion
-		int filaSinCeroInicial = 0;
-		while (r.get(filaSinCeroInicial, 0) == 0 && filaSinCeroInicial + 1 < size[0])
-			filaSinCeroInicial++;
-
-		// Si encontre un numero distinto de cero en otra fila, las intercambio
-		if (filaSinCeroInicial != 0) {
-			r.intercambiarFilas(0, filaSinCeroInicial);
-			inversa.intercambiarFilas(0, filaSinCeroInicial);
+
+		int n = size[0];
+		double[] a = m.getValores();
+
+		// Escala de cada fila, para comparar los pivotes en forma relativa
+		double[] escala = new double[n];
+		for (int i = 0; i < n; i++) {
+			escala[i] = NUCLEO.maximoAbsoluto(a, i * n, n);
+			if (escala[i] == 0)
+				throw new MatrizOperationException("La matriz no tiene inversa");
 		}
-		
-		// Busco ceros alrededor de la j posicion
-		for (int j = 0; j < size[1]; j++) {
-			for (int i = 0; i < size[0]; i++) {
-				double pivote = r.get(j, j);
-				double b = r.get(i, j);
-				
-				// Si no estoy en la diagonal principal
-				if (i != j) {
-					if(pivote != 0) {
-						// Busco que se anule la suma b = b + (-1) * pivote * b/pivote, se simplifica pivote
-						// y queda b = b - b, que da como resultado cero
-						r.sumarFilas(i, j, -1 * b/pivote); 
-						inversa.sumarFilas(i, j, -1 * b/pivote); 
-					}
-				}
-				// Si estoy en la diagonal principal
-				else { 
-					// Busco uno en la diagonal principal
-					if(pivote != 1) {
-						r.multiplicarFilaPorEscalar(j, 1/pivote);
-						inversa.multiplicarFilaPorEscalar(j, 1/pivote);
-					}
+		double minimoPivote = tolerancia * n;
+		int[] pivotes = new int[n];
+
+		for (int j = 0; j < n; j++) {
+			// Elijo como pivote el mayor valor de la columna desde la diagonal,
+			// relativo a la escala de su fila
+			int filaPivote = j;
+			double maximo = Math.abs(a[j * n + j]) / escala[j];
+			for (int i = j + 1; i < n; i++) {
+				double valor = Math.abs(a[i * n + j]) / escala[i];
+				if (valor > maximo) {
+					maximo = valor;
+					filaPivote = i;
 				}
 			}
+			if (maximo <= minimoPivote)
+				throw new MatrizOperationException("La matriz no tiene inversa");
+
+			pivotes[j] = filaPivote;
+			if (filaPivote != j) {
+				intercambiarFilas(a, n, j, filaPivote);
+				double aux = escala[j];
+				escala[j] = escala[filaPivote];
+				escala[filaPivote] = aux;
+			}
+
+			// Busco uno en la diagonal principal. La columna j pasa a guardar
+			// la columna j de la inversa, que en la fila del pivote vale
+			// 1/pivote
+			int filaJ = j * n;
+			double factor = 1 / a[filaJ + j];
+			a[filaJ + j] = 1;
+			NUCLEO.escalar(factor, a, filaJ, n);
+
+			// Busco ceros en el resto de la columna j, que en la inversa valen
+			// -b/pivote
+			for (int i = 0; i < n; i++) {
+				int filaI = i * n;
+				double b = a[filaI + j];
+				if (i == j || b == 0)
+					continue;
+				a[filaI + j] = 0;
+				NUCLEO.axpy(-b, a, filaJ, a, filaI, n);
+			}
 		}
 
-		return inversa;
+		// Deshago los intercambios de filas como intercambios de columnas
+		for (int j = n - 1; j >= 0; j--)
+			if (pivotes[j] != j)
+				intercambiarColumnas(a, n, j, pivotes[j]);
 	}
 
+	private static void intercambiarFilas(double[] a, int n, int f1, int f2) {
+		int inicio1 = f1 * n;
+		int inicio2 = f2 * n;
+		for (int k = 0; k < n; k++) {
+			double aux = a[inicio1 + k];
+			a[inicio1 + k] = a[inicio2 + k];
+			a[inicio2 + k] = aux;
+		}
+	}
+
+	private static void intercambiarColumnas(double[] a, int n, int c1, int c2) {
+		for (int i = 0; i < n; i++) {
+			int fila = i * n;
+			double aux = a[fila + c1];
+			a[fila + c1] = a[fila + c2];
+			a[fila + c2] = aux;
+		}
+	}
 }
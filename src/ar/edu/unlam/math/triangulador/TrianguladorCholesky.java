@@ -0,0 +1,84 @@
+package ar.edu.unlam.math.triangulador;
+
+import ar.edu.unlam.math.MatrizMath;
+import ar.edu.unlam.math.exception.MatrizOperationException;
+import ar.edu.unlam.math.factorizacion.FactorizacionCholesky;
+import ar.edu.unlam.math.nucleo.Nucleo;
+
+/**
+ * Descompone una matriz simétrica definida positiva en el producto A = L·L^T,
+ * con L triangular inferior. Requiere la mitad de operaciones que la
+ * factorización LU, aproximadamente (1/3)n³, y solamente lee y guarda el
+ * triángulo inferior.
+ *
+ * @author yoni
+ *
+ */
+public class TrianguladorCholesky implements Triangulador {
+	private static final Nucleo NUCLEO = Nucleo.getInstancia();
+
+	// Atributos ~
+	// -----------------------------------------------------------------
+	/**
+	 * Factorización de la última matriz triangulada
+	 */
+	private FactorizacionCholesky factorizacion;
+
+	// Metodos ~
+	// -----------------------------------------------------------------
+	@Override
+	/**
+	 * Obtiene el factor L de la matriz m
+	 */
+	public MatrizMath triangular(MatrizMath m) throws MatrizOperationException {
+		return factorizar(m).getL();
+	}
+
+	/**
+	 * Factoriza la matriz m sin construir la matriz triangulada. Solamente se
+	 * lee el triángulo inferior de m, que se supone simétrica.
+	 *
+	 * @return Factorización de Cholesky de m
+	 * @throws MatrizOperationException
+	 *             La matriz debe ser cuadrada y definida positiva
+	 */
+	public FactorizacionCholesky factorizar(MatrizMath m) throws MatrizOperationException {
+		// Verifico si la matriz es cuadrada
+		int[] size = m.getDimension();
+		if (size[0] != size[1])
+			throw new MatrizOperationException("No es posible triangular una matriz que no sea cuadrada");
+
+		int n = size[0];
+		double[] a = m.getValores();
+		double[] l = new double[n * (n + 1) / 2];
+
+		for (int i = 0; i < n; i++) {
+			int filaI = i * (i + 1) / 2;
+			for (int j = 0; j <= i; j++) {
+				int filaJ = j * (j + 1) / 2;
+				double suma = a[i * n + j] - NUCLEO.producto(l, filaI, l, filaJ, j);
+
+				if (i == j) {
+					if (suma <= 0 || Double.isNaN(suma))
+						throw new MatrizOperationException("La matriz no es definida positiva");
+					l[filaI + i] = Math.sqrt(suma);
+				} else {
+					l[filaI + j] = suma / l[filaJ + j];
+				}
+			}
+		}
+
+		this.factorizacion = new FactorizacionCholesky(l, n);
+		return factorizacion;
+	}
+
+	/**
+	 * Devuelve la factorización de la última matriz triangulada
+	 *
+	 * @return Factorización de Cholesky, o null si todavía no se trianguló
+	 *         ninguna matriz
+	 */
+	public FactorizacionCholesky getFactorizacion() {
+		return factorizacion;
+	}
+}
@@ -0,0 +1,134 @@
+package ar.edu.unlam.math.triangulador;
+
+import ar.edu.unlam.math.MatrizMath;
+import ar.edu.unlam.math.exception.MatrizOperationException;
+import ar.edu.unlam.math.factorizacion.FactorizacionLU;
+import ar.edu.unlam.math.nucleo.Nucleo;
+
+/**
+ * Descompone una matriz cuadrada en el producto P·A = L·U por medio de
+ * eliminación gaussiana con pivoteo parcial. L es triangular inferior con unos
+ * en la diagonal y U es triangular superior; ambas se guardan juntas en una
+ * única matriz (L debajo de la diagonal y U en la diagonal y por encima).
+ *
+ * La factorización se realiza una sola vez, en aproximadamente (2/3)n³
+ * operaciones, y luego cada sistema se resuelve por sustitución hacia adelante
+ * y hacia atrás en n² operaciones (ver {@link FactorizacionLU}).
+ *
+ * @author yoni
+ *
+ */
+public class TrianguladorLU implements Triangulador {
+	private static final Nucleo NUCLEO = Nucleo.getInstancia();
+
+	// Atributos ~
+	// -----------------------------------------------------------------
+	/**
+	 * Factorización de la última matriz triangulada
+	 */
+	private FactorizacionLU factorizacion;
+
+	// Metodos ~
+	// -----------------------------------------------------------------
+	@Override
+	/**
+	 * Obtiene los factores L y U de la matriz m. Lanza una excepción si la matriz
+	 * es singular.
+	 */
+	public MatrizMath triangular(MatrizMath m) throws MatrizOperationException {
+		return factorizar(m).getLU();
+	}
+
+	/**
+	 * Factoriza la matriz m sin construir la matriz triangulada
+	 *
+	 * @return Factorización LU de m
+	 * @throws MatrizOperationException
+	 *             La matriz debe ser cuadrada y no singular
+	 */
+	public FactorizacionLU factorizar(MatrizMath m) throws MatrizOperationException {
+		// Verifico si la matriz es cuadrada
+		int[] size = m.getDimension();
+		if (size[0] != size[1])
+			throw new MatrizOperationException("No es posible triangular una matriz que no sea cuadrada");
+
+		int n = size[0];
+
+		// Copio la matriz para trabajar sobre una copia
+		double[] a = m.getValores().clone();
+
+		int[] p = new int[n];
+		for (int i = 0; i < n; i++)
+			p[i] = i;
+
+		for (int k = 0; k < n; k++) {
+			int filaPivote = buscarPivote(a, n, k, k, n);
+			if (a[filaPivote * n + k] == 0)
+				throw new MatrizOperationException("La matriz no tiene inversa");
+
+			// Si el pivote esta en otra fila, las intercambio
+			if (filaPivote != k)
+				intercambiarFilas(a, n, p, k, filaPivote);
+
+			// Anulo los elementos debajo del pivote, guardando los multiplicadores
+			int filaK = k * n;
+			double pivote = a[filaK + k];
+			for (int i = k + 1; i < n; i++) {
+				int filaI = i * n;
+				double factor = a[filaI + k] / pivote;
+				a[filaI + k] = factor;
+				if (factor != 0)
+					NUCLEO.axpy(-factor, a, filaK + k + 1, a, filaI + k + 1, n - k - 1);
+			}
+		}
+
+		this.factorizacion = new FactorizacionLU(a, p);
+		return factorizacion;
+	}
+
+	/**
+	 * Devuelve la factorización de la última matriz triangulada
+	 *
+	 * @return Factorización LU, o null si todavía no se trianguló ninguna
+	 *         matriz
+	 */
+	public FactorizacionLU getFactorizacion() {
+		return factorizacion;
+	}
+
+	/**
+	 * Busca el elemento de mayor valor absoluto de la columna k entre las filas
+	 * [desde, hasta)
+	 *
+	 * @return Fila del pivote
+	 */
+	static int buscarPivote(double[] a, int n, int k, int desde, int hasta) {
+		int filaPivote = desde;
+		double maximo = Math.abs(a[desde * n + k]);
+		for (int i = desde + 1; i < hasta; i++) {
+			double valor = Math.abs(a[i * n + k]);
+			if (valor > maximo) {
+				maximo = valor;
+				filaPivote = i;
+			}
+		}
+		return filaPivote;
+	}
+
+	/**
+	 * Intercambia dos filas completas de a y registra el cambio en la
+	 * permutación
+	 */
+	static void intercambiarFilas(double[] a, int n, int[] p, int f1, int f2) {
+		int inicio1 = f1 * n;
+		int inicio2 = f2 * n;
+		for (int j = 0; j < n; j++) {
+			double aux = a[inicio1 + j];
+			a[inicio1 + j] = a[inicio2 + j];
+			a[inicio2 + j] = aux;
+		}
+		int auxP = p[f1];
+		p[f1] = p[f2];
+		p[f2] = auxP;
+	}
+}
@@ -0,0 +1,142 @@
+package ar.edu.unlam.math.triangulador;
+
+import ar.edu.unlam.math.MatrizMath;
+import ar.edu.unlam.math.exception.MatrizOperationException;
+import ar.edu.unlam.math.factorizacion.FactorizacionLU;
+import ar.edu.unlam.math.multiplicador.MultiplicadorParalelo;
+import ar.edu.unlam.math.nucleo.Nucleo;
+
+/**
+ * Factorización P·A = L·U por bloques (right-looking). En cada paso se factoriza
+ * un panel de pocas columnas con pivoteo parcial, se calcula la franja de U a
+ * su derecha y el resto de la matriz se actualiza con un único producto de
+ * matrices A22 = A22 - L21·U12. Así la mayor parte del trabajo la realiza el
+ * núcleo de multiplicación por bloques, en lugar de recorrer la matriz entera
+ * una vez por cada pivote.
+ *
+ * El resultado es el mismo que el de {@link TrianguladorLU}.
+ *
+ * @author yoni
+ *
+ */
+public class TrianguladorLUBloques implements Triangulador {
+	private static final Nucleo NUCLEO = Nucleo.getInstancia();
+
+	/**
+	 * Cantidad de columnas de cada panel
+	 */
+	public static final int BLOQUE_POR_DEFECTO = 64;
+	/**
+	 * Multiplicador de los trianguladores creados sin indicar uno, que
+	 * reparte el trabajo en el pool compartido
+	 */
+	private static final MultiplicadorParalelo MULTIPLICADOR_COMPARTIDO = new MultiplicadorParalelo();
+
+	// Atributos ~
+	// -----------------------------------------------------------------
+	private final int bloque;
+	private final MultiplicadorParalelo multiplicador;
+	/**
+	 * Factorización de la última matriz triangulada
+	 */
+	private FactorizacionLU factorizacion;
+
+	// Constructores ~
+	// -----------------------------------------------------------------
+	public TrianguladorLUBloques() {
+		this(BLOQUE_POR_DEFECTO, MULTIPLICADOR_COMPARTIDO);
+	}
+
+	/**
+	 * @param bloque
+	 *            cantidad de columnas de cada panel
+	 * @param multiplicador
+	 *            multiplicador utilizado para actualizar el resto de la matriz
+	 */
+	public TrianguladorLUBloques(int bloque, MultiplicadorParalelo multiplicador) {
+		this.bloque = bloque;
+		this.multiplicador = multiplicador;
+	}
+
+	// Metodos ~
+	// -----------------------------------------------------------------
+	@Override
+	public MatrizMath triangular(MatrizMath m) throws MatrizOperationException {
+		return factorizar(m).getLU();
+	}
+
+	/**
+	 * Factoriza la matriz m sin construir la matriz triangulada
+	 *
+	 * @return Factorización LU de m
+	 * @throws MatrizOperationException
+	 *             La matriz debe ser cuadrada y no singular
+	 */
+	public FactorizacionLU factorizar(MatrizMath m) throws MatrizOperationException {
+		// Verifico si la matriz es cuadrada
+		int[] size = m.getDimension();
+		if (size[0] != size[1])
+			throw new MatrizOperationException("No es posible triangular una matriz que no sea cuadrada");
+
+		int n = size[0];
+		double[] a = m.getValores().clone();
+		int[] p = new int[n];
+		for (int i = 0; i < n; i++)
+			p[i] = i;
+
+		for (int k0 = 0; k0 < n; k0 += bloque) {
+			int k1 = Math.min(k0 + bloque, n);
+
+			// Factorizo el panel formado por las columnas [k0, k1)
+			for (int k = k0; k < k1; k++) {
+				int filaPivote = TrianguladorLU.buscarPivote(a, n, k, k, n);
+				if (a[filaPivote * n + k] == 0)
+					throw new MatrizOperationException("La matriz no tiene inversa");
+				if (filaPivote != k)
+					TrianguladorLU.intercambiarFilas(a, n, p, k, filaPivote);
+
+				int filaK = k * n;
+				double pivote = a[filaK + k];
+				for (int i = k + 1; i < n; i++) {
+					int filaI = i * n;
+					double factor = a[filaI + k] / pivote;
+					a[filaI + k] = factor;
+					if (factor != 0)
+						NUCLEO.axpy(-factor, a, filaK + k + 1, a, filaI + k + 1, k1 - k - 1);
+				}
+			}
+
+			if (k1 == n)
+				break;
+
+			// Calculo U12 resolviendo L11·U12 = A12
+			for (int k = k0; k < k1; k++) {
+				int filaK = k * n;
+				for (int i = k + 1; i < k1; i++) {
+					int filaI = i * n;
+					double factor = a[filaI + k];
+					if (factor != 0)
+						NUCLEO.axpy(-factor, a, filaK + k1, a, filaI + k1, n - k1);
+				}
+			}
+
+			// Actualizo el resto de la matriz: A22 = A22 - L21·U12
+			int resto = n - k1;
+			multiplicador.multiplicar(-1, a, k1 * n + k0, n, a, k0 * n + k1, n, a, k1 * n + k1, n, resto, k1 - k0,
+					resto);
+		}
+
+		this.factorizacion = new FactorizacionLU(a, p);
+		return factorizacion;
+	}
+
+	/**
+	 * Devuelve la factorización de la última matriz triangulada
+	 *
+	 * @return Factorización LU, o null si todavía no se trianguló ninguna
+	 *         matriz
+	 */
+	public FactorizacionLU getFactorizacion() {
+		return factorizacion;
+	}
+}
@@ -0,0 +1,267 @@
+package ar.edu.unlam.math.triangulador;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import ar.edu.unlam.math.MatrizMath;
+import ar.edu.unlam.math.exception.MatrizOperationException;
+import ar.edu.unlam.math.factorizacion.FactorizacionLUSimple;
+import ar.edu.unlam.math.paralelo.PoolCompartido;
+
+/**
+ * Factorización P·A = L·U con pivoteo parcial por bloques, igual que
+ * {@link TrianguladorLUBloques} pero en precisión simple. Recorre la mitad de
+ * memoria que en precisión doble, lo que acelera la factorización alrededor
+ * de un 10%. Si algún valor de la matriz no puede representarse en precisión
+ * simple (se desborda o se anula) la factorización se rechaza, ya que sus
+ * factores no servirían para refinar.
+ *
+ * Los paneles se factorizan en un solo hilo; la actualización del resto de la
+ * matriz, que concentra casi todo el trabajo, se reparte por filas entre los
+ * hilos de un {@link ForkJoinPool} en matrices grandes.
+ *
+ * @author yoni
+ *
+ */
+public class TrianguladorLUSimple implements Triangulador {
+	/**
+	 * Cantidad de columnas de cada panel
+	 */
+	private static final int BLOQUE = 64;
+	/**
+	 * Cantidad de columnas del resto de la matriz actualizadas por pasada
+	 */
+	private static final int BLOQUE_J = 1024;
+	/**
+	 * Dimensión a partir de la cual la actualización se realiza en paralelo
+	 */
+	public static final int UMBRAL_PARALELO = 256;
+	/**
+	 * Cantidad mínima de elementos que actualiza cada tarea
+	 */
+	private static final int ELEMENTOS_POR_TAREA = 16 * 1024;
+
+	// Atributos ~
+	// -----------------------------------------------------------------
+	private final ForkJoinPool pool;
+
+	// Constructores ~
+	// -----------------------------------------------------------------
+	/**
+	 * Utiliza el pool compartido, con un hilo por procesador disponible
+	 */
+	public TrianguladorLUSimple() {
+		this(PoolCompartido.getPool());
+	}
+
+	/**
+	 * @param pool
+	 *            pool en el que se reparte la actualización de matrices
+	 *            grandes, quien lo crea debe cerrarlo
+	 */
+	public TrianguladorLUSimple(ForkJoinPool pool) {
+		this.pool = pool;
+	}
+
+	// Metodos ~
+	// -----------------------------------------------------------------
+	@Override
+	/**
+	 * Obtiene los factores L y U de la matriz m en precisión simple. Lanza una
+	 * excepción si la matriz es singular.
+	 */
+	public MatrizMath triangular(MatrizMath m) throws MatrizOperationException {
+		return factorizar(m).getLU();
+	}
+
+	/**
+	 * Factoriza la matriz m en precisión simple
+	 *
+	 * @return Factorización LU de m
+	 * @throws MatrizOperationException
+	 *             La matriz debe ser cuadrada, no singular y representable en
+	 *             precisión simple
+	 */
+	public FactorizacionLUSimple factorizar(MatrizMath m) throws MatrizOperationException {
+		int[] size = m.getDimension();
+		if (size[0] != size[1])
+			throw new MatrizOperationException("No es posible triangular una matriz que no sea cuadrada");
+
+		int n = size[0];
+		double[] valores = m.getValores();
+		float[] a = new float[valores.length];
+		for (int i = 0; i < valores.length; i++) {
+			a[i] = (float) valores[i];
+			if (Float.isInfinite(a[i]) != Double.isInfinite(valores[i]) || (a[i] == 0) != (valores[i] == 0))
+				throw new MatrizOperationException("La matriz no puede representarse en precision simple");
+		}
+
+		int[] p = new int[n];
+		for (int i = 0; i < n; i++)
+			p[i] = i;
+
+		boolean paralelo = n >= UMBRAL_PARALELO && pool.getParallelism() > 1;
+
+		for (int k0 = 0; k0 < n; k0 += BLOQUE) {
+			int k1 = Math.min(k0 + BLOQUE, n);
+
+			// Factorizo el panel formado por las columnas [k0, k1)
+			for (int k = k0; k < k1; k++) {
+				int filaPivote = buscarPivote(a, n, k);
+				float pivote = a[filaPivote * n + k];
+				if (pivote == 0)
+					throw new MatrizOperationException("La matriz no tiene inversa");
+				if (Float.isInfinite(pivote) || Float.isNaN(pivote))
+					throw new MatrizOperationException("La matriz no puede representarse en precision simple");
+				if (filaPivote != k)
+					intercambiarFilas(a, n, p, k, filaPivote);
+
+				int filaK = k * n;
+				for (int i = k + 1; i < n; i++) {
+					int filaI = i * n;
+					float factor = a[filaI + k] / pivote;
+					a[filaI + k] = factor;
+					if (factor != 0)
+						for (int j = k + 1; j < k1; j++)
+							a[filaI + j] -= factor * a[filaK + j];
+				}
+			}
+
+			// Calculo U12 resolviendo L11·U12 = A12
+			for (int k = k0; k < k1; k++) {
+				int filaK = k * n;
+				for (int i = k + 1; i < k1; i++) {
+					int filaI = i * n;
+					float factor = a[filaI + k];
+					if (factor != 0)
+						for (int j = k1; j < n; j++)
+							a[filaI + j] -= factor * a[filaK + j];
+				}
+			}
+
+			// Actualizo el resto de la matriz: A22 = A22 - L21·U12
+			if (paralelo && k1 < n)
+				pool.invoke(new Actualizacion(a, n, k0, k1, k1, n));
+			else
+				actualizar(a, n, k0, k1, k1, n);
+		}
+
+		return new FactorizacionLUSimple(a, p);
+	}
+
+	/**
+	 * Calcula A22 = A22 - L21·U12 para el panel de columnas [k0, k1) en las
+	 * filas [desde, hasta), con el mismo recorrido que
+	 * {@link ar.edu.unlam.math.multiplicador.MultiplicadorBloques}: porciones
+	 * de columnas que entran en la cache, dos filas de A22 y dos filas de U12
+	 * por pasada
+	 */
+	private static void actualizar(float[] a, int n, int k0, int k1, int desde, int hasta) {
+		for (int j0 = k1; j0 < n; j0 += BLOQUE_J) {
+			int j1 = Math.min(j0 + BLOQUE_J, n);
+			int i = desde;
+			for (; i + 1 < hasta; i += 2) {
+				int filaI0 = i * n;
+				int filaI1 = filaI0 + n;
+				int k = k0;
+				for (; k + 1 < k1; k += 2) {
+					float l00 = a[filaI0 + k];
+					float l01 = a[filaI0 + k + 1];
+					float l10 = a[filaI1 + k];
+					float l11 = a[filaI1 + k + 1];
+					int filaK0 = k * n;
+					int filaK1 = filaK0 + n;
+					for (int j = j0; j < j1; j++) {
+						float u0 = a[filaK0 + j];
+						float u1 = a[filaK1 + j];
+						a[filaI0 + j] -= l00 * u0 + l01 * u1;
+						a[filaI1 + j] -= l10 * u0 + l11 * u1;
+					}
+				}
+				if (k < k1) {
+					float l00 = a[filaI0 + k];
+					float l10 = a[filaI1 + k];
+					int filaK0 = k * n;
+					for (int j = j0; j < j1; j++) {
+						float u0 = a[filaK0 + j];
+						a[filaI0 + j] -= l00 * u0;
+						a[filaI1 + j] -= l10 * u0;
+					}
+				}
+			}
+			// Fila restante cuando la cantidad de filas es impar
+			if (i < hasta) {
+				int filaI = i * n;
+				for (int k = k0; k < k1; k++) {
+					float factor = a[filaI + k];
+					if (factor != 0) {
+						int filaK = k * n;
+						for (int j = j0; j < j1; j++)
+							a[filaI + j] -= factor * a[filaK + j];
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Busca el elemento de mayor valor absoluto de la columna k desde la
+	 * diagonal
+	 */
+	private static int buscarPivote(float[] a, int n, int k) {
+		int filaPivote = k;
+		float maximo = Math.abs(a[k * n + k]);
+		for (int i = k + 1; i < n; i++) {
+			float valor = Math.abs(a[i * n + k]);
+			if (valor > maximo) {
+				maximo = valor;
+				filaPivote = i;
+			}
+		}
+		return filaPivote;
+	}
+
+	private static void intercambiarFilas(float[] a, int n, int[] p, int f1, int f2) {
+		int inicio1 = f1 * n;
+		int inicio2 = f2 * n;
+		for (int j = 0; j < n; j++) {
+			float aux = a[inicio1 + j];
+			a[inicio1 + j] = a[inicio2 + j];
+			a[inicio2 + j] = aux;
+		}
+		int auxP = p[f1];
+		p[f1] = p[f2];
+		p[f2] = auxP;
+	}
+
+	/**
+	 * Tarea que actualiza A22 en un rango de filas, dividiéndolo mientras sea
+	 * grande
+	 */
+	private static class Actualizacion extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final float[] a;
+		private final int n, k0, k1, desde, hasta;
+
+		Actualizacion(float[] a, int n, int k0, int k1, int desde, int hasta) {
+			this.a = a;
+			this.n = n;
+			this.k0 = k0;
+			this.k1 = k1;
+			this.desde = desde;
+			this.hasta = hasta;
+		}
+
+		@Override
+		protected void compute() {
+			if ((long) (hasta - desde) * (n - k1) <= ELEMENTOS_POR_TAREA || hasta - desde <= 2) {
+				actualizar(a, n, k0, k1, desde, hasta);
+				return;
+			}
+			// Corto en una fila par para conservar las pasadas de a dos filas
+			int medio = desde + (hasta - desde) / 4 * 2;
+			invokeAll(new Actualizacion(a, n, k0, k1, desde, medio), new Actualizacion(a, n, k0, k1, medio, hasta));
+		}
+	}
+}
@@ -0,0 +1,95 @@
+package ar.edu.unlam.math.triangulador;
+
+import java.util.Arrays;
+
+import ar.edu.unlam.math.MatrizMath;
+import ar.edu.unlam.math.exception.MatrizOperationException;
+import ar.edu.unlam.math.factorizacion.FactorizacionQR;
+
+/**
+ * Descompone una matriz en el producto A = Q·R por medio de reflexiones de
+ * Householder. La matriz debe tener al menos tantas filas como columnas y
+ * rango completo.
+ * 
+ * @author yoni
+ * 
+ */
+public class TrianguladorQR implements Triangulador {
+	// Atributos ~
+	// -----------------------------------------------------------------
+	/**
+	 * Factorización de la última matriz triangulada
+	 */
+	private FactorizacionQR factorizacion;
+
+	// Metodos ~
+	// -----------------------------------------------------------------
+	@Override
+	/**
+	 * Obtiene el factor R de la matriz m
+	 */
+	public MatrizMath triangular(MatrizMath m) throws MatrizOperationException {
+		int[] size = m.getDimension();
+		int filas = size[0];
+		int n = size[1];
+		if (filas < n)
+			throw new MatrizOperationException(
+					"No es posible factorizar en QR una matriz con menos filas que columnas");
+
+		// Copio la matriz para trabajar sobre una copia
+		double[] valores = m.getValores();
+		double[][] qr = new double[filas][];
+		for (int i = 0; i < filas; i++)
+			qr[i] = Arrays.copyOfRange(valores, i * n, (i + 1) * n);
+		double[] diagonalR = new double[n];
+
+		for (int k = 0; k < n; k++) {
+			// Norma de la columna k debajo de la diagonal
+			double norma = 0;
+			for (int i = k; i < filas; i++)
+				norma = Math.hypot(norma, qr[i][k]);
+
+			if (norma == 0)
+				throw new MatrizOperationException("La matriz no tiene rango completo");
+
+			// Construyo el vector de Householder de la columna k
+			if (qr[k][k] < 0)
+				norma = -norma;
+			for (int i = k; i < filas; i++)
+				qr[i][k] /= norma;
+			qr[k][k] += 1;
+
+			// Aplico la reflexion al resto de las columnas
+			for (int j = k + 1; j < n; j++) {
+				double s = 0;
+				for (int i = k; i < filas; i++)
+					s += qr[i][k] * qr[i][j];
+				s = -s / qr[k][k];
+				for (int i = k; i < filas; i++)
+					qr[i][j] += s * qr[i][k];
+			}
+			diagonalR[k] = -norma;
+		}
+
+		this.factorizacion = new FactorizacionQR(qr, diagonalR);
+
+		double[][] r = new double[n][];
+		for (int i = 0; i < n; i++) {
+			r[i] = new double[n];
+			r[i][i] = diagonalR[i];
+			for (int j = i + 1; j < n; j++)
+				r[i][j] = qr[i][j];
+		}
+		return new MatrizMath(r);
+	}
+
+	/**
+	 * Devuelve la factorización de la última matriz triangulada
+	 * 
+	 * @return Factorización QR, o null si todavía no se trianguló ninguna
+	 *         matriz
+	 */
+	public FactorizacionQR getFactorizacion() {
+		return factorizacion;
+	}
+}
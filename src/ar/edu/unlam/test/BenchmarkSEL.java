@@ -0,0 +1,363 @@
+package ar.edu.unlam.test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import ar.edu.unlam.math.MatrizMath;
+import ar.edu.unlam.math.SEL;
+import ar.edu.unlam.math.VectorMath;
+import ar.edu.unlam.math.io.EscritorNumeros;
+import ar.edu.unlam.math.io.FormatoBinario;
+import ar.edu.unlam.math.multiplicador.Multiplicador;
+import ar.edu.unlam.math.multiplicador.MultiplicadorBloques;
+import ar.edu.unlam.math.multiplicador.MultiplicadorSimple;
+import ar.edu.unlam.math.nucleo.Nucleo;
+
+/**
+ * Mide el tiempo de las operaciones de MatrizMath, VectorMath y SEL para
+ * distintos tamaños y clases de valores, como los casos de test/input.
+ *
+ * Cada medición se calienta primero (para que el JIT compile el código
+ * medido), luego se repite hasta superar un tiempo mínimo y se informa la
+ * media, el desvío y el mínimo por operación. El resultado de cada operación
+ * se acumula en un campo volátil para que no pueda descartarse como código
+ * muerto. Las matrices se generan con semilla fija, por lo que dos corridas
+ * miden exactamente los mismos datos.
+ *
+ * Uso: BenchmarkSEL [-tamanios 10,100,500] [-operaciones producto,sel]
+ * [-clases normales,grandes] [-csv archivo]. El núcleo de operaciones se elige
+ * con -Dar.edu.unlam.math.nucleo=escalar, desenrollado o vectorial
+ *
+ * @author yoni
+ *
+ */
+public class BenchmarkSEL {
+	private static final int[] TAMANIOS = { 10, 50, 100, 500, 1000, 2000 };
+	private static final String[] OPERACIONES = { "producto", "producto-simple", "producto-bloques",
+			"determinante", "inversa", "sel", "lectura-texto", "lectura-binaria", "vector" };
+	private static final long SEMILLA = 20140501L;
+	private static final long NANOS_CALENTAMIENTO = 500000000L;
+	private static final long NANOS_MEDICION = 1000000000L;
+	private static final int MINIMO_REPETICIONES = 5;
+
+	/**
+	 * Evita que el JIT elimine las operaciones cuyo resultado no se usa
+	 */
+	private static volatile double sumidero;
+
+	/**
+	 * Clases de valores de las matrices generadas
+	 */
+	public enum Clase {
+		/**
+		 * Valores uniformes entre 0 y 100, como GeneradorInputSEL
+		 */
+		NORMALES(0, 0),
+		/**
+		 * Entre 1E-21 y 1E-9, como 02_numerosMuyChicos
+		 */
+		CHICOS(-21, -9),
+		/**
+		 * Entre 1E9 y 1E21, como 03_numerosMuyGrandes
+		 */
+		GRANDES(9, 21),
+		/**
+		 * Cada fila de una de las clases anteriores, como
+		 * 04_numerosGrandesYChicos
+		 */
+		MIXTOS(0, 0);
+
+		private final int exponenteMinimo, exponenteMaximo;
+
+		private Clase(int exponenteMinimo, int exponenteMaximo) {
+			this.exponenteMinimo = exponenteMinimo;
+			this.exponenteMaximo = exponenteMaximo;
+		}
+
+		private double generar(Random r) {
+			if (exponenteMinimo == exponenteMaximo)
+				return r.nextDouble() * 100;
+			int exponente = exponenteMinimo + r.nextInt(exponenteMaximo - exponenteMinimo + 1);
+			return (1 + r.nextInt(9)) * Math.pow(10, exponente);
+		}
+	}
+
+	/**
+	 * Operación a medir; devuelve un valor que depende del resultado
+	 */
+	private interface Operacion {
+		double ejecutar() throws Exception;
+	}
+
+	/**
+	 * Resultado de una medición, en nanosegundos por operación
+	 */
+	private static class Medicion {
+		final int repeticiones;
+		final double media, desvio, minimo;
+
+		Medicion(long[] tiempos, int repeticiones) {
+			this.repeticiones = repeticiones;
+			double suma = 0, min = Double.MAX_VALUE;
+			for (int i = 0; i < repeticiones; i++) {
+				suma += tiempos[i];
+				min = Math.min(min, tiempos[i]);
+			}
+			this.media = suma / repeticiones;
+			double cuadrados = 0;
+			for (int i = 0; i < repeticiones; i++)
+				cuadrados += (tiempos[i] - media) * (tiempos[i] - media);
+			this.desvio = repeticiones > 1 ? Math.sqrt(cuadrados / (repeticiones - 1)) : 0;
+			this.minimo = min;
+		}
+	}
+
+	// Atributos ~
+	// -----------------------------------------------------------------
+	private int[] tamanios = TAMANIOS;
+	private List<String> operaciones = Arrays.asList(OPERACIONES);
+	private List<Clase> clases = Arrays.asList(Clase.values());
+	private PrintWriter csv;
+	/**
+	 * Archivos temporales de las mediciones de lectura
+	 */
+	private File texto, binario;
+
+	// Metodos ~
+	// -----------------------------------------------------------------
+	/**
+	 * Genera una matriz de la clase indicada, siempre la misma para la misma
+	 * semilla
+	 */
+	public static MatrizMath generarMatriz(int n, Clase clase, Random r) {
+		double[] valores = new double[n * n];
+		Clase[] simples = { Clase.NORMALES, Clase.CHICOS, Clase.GRANDES };
+		for (int i = 0; i < n; i++) {
+			Clase deLaFila = clase == Clase.MIXTOS ? simples[r.nextInt(simples.length)] : clase;
+			for (int j = 0; j < n; j++)
+				valores[i * n + j] = deLaFila.generar(r);
+		}
+		return new MatrizMath(n, n, valores);
+	}
+
+	public static VectorMath generarVector(int n, Clase clase, Random r) {
+		double[] valores = new double[n];
+		for (int i = 0; i < n; i++)
+			valores[i] = (clase == Clase.MIXTOS ? Clase.NORMALES : clase).generar(r);
+		VectorMath v = new VectorMath();
+		v.setValores(valores);
+		return v;
+	}
+
+	/**
+	 * Calienta y mide la operación, repitiéndola hasta superar el tiempo de
+	 * medición
+	 */
+	private static Medicion medir(Operacion operacion) throws Exception {
+		double acumulado = 0;
+		long inicio = System.nanoTime();
+		int calentamientos = 0;
+		while (calentamientos < MINIMO_REPETICIONES || System.nanoTime() - inicio < NANOS_CALENTAMIENTO) {
+			acumulado += operacion.ejecutar();
+			calentamientos++;
+		}
+
+		long[] tiempos = new long[16];
+		int repeticiones = 0;
+		long total = 0;
+		while (repeticiones < MINIMO_REPETICIONES || total < NANOS_MEDICION) {
+			long t0 = System.nanoTime();
+			acumulado += operacion.ejecutar();
+			long t = System.nanoTime() - t0;
+			if (repeticiones == tiempos.length)
+				tiempos = Arrays.copyOf(tiempos, 2 * tiempos.length);
+			tiempos[repeticiones++] = t;
+			total += t;
+		}
+		sumidero += acumulado;
+		return new Medicion(tiempos, repeticiones);
+	}
+
+	private void informar(String operacion, Clase clase, int n, Medicion m) {
+		System.out.println(String.format(Locale.ROOT, "%-18s %-9s %6d %8d %14.3f %12.3f %14.3f", operacion,
+				clase.name().toLowerCase(), n, m.repeticiones, m.media / 1e6, m.desvio / 1e6, m.minimo / 1e6));
+		if (csv != null)
+			csv.println(String.format(Locale.ROOT, "%s,%s,%d,%d,%.0f,%.0f,%.0f", operacion, clase.name()
+					.toLowerCase(), n, m.repeticiones, m.media, m.desvio, m.minimo));
+	}
+
+	public void ejecutar() throws Exception {
+		System.out.println("nucleo: " + Nucleo.getInstancia().getClass().getSimpleName());
+		System.out.println(String.format("%-18s %-9s %6s %8s %14s %12s %14s", "operacion", "clase", "n", "reps",
+				"media ms/op", "desvio ms", "minimo ms/op"));
+		if (csv != null)
+			csv.println("operacion,clase,n,repeticiones,media_ns,desvio_ns,minimo_ns");
+
+		Multiplicador original = MatrizMath.getMultiplicador();
+		for (Clase clase : clases)
+			for (int n : tamanios) {
+				Random r = new Random(SEMILLA + n);
+				final MatrizMath a = generarMatriz(n, clase, r);
+				final MatrizMath b = generarMatriz(n, clase, r);
+				final VectorMath v = generarVector(n, clase, r);
+				final VectorMath w = generarVector(n, clase, r);
+
+				for (String operacion : operaciones) {
+					Operacion op = crearOperacion(operacion, a, b, v, w);
+					if (op == null)
+						throw new IllegalArgumentException("Operacion desconocida: " + operacion);
+					try {
+						informar(operacion, clase, n, medir(op));
+					} catch (Exception e) {
+						// Por ejemplo una matriz singular; se informa y se sigue
+						System.out.println(String.format("%-18s %-9s %6d  %s", operacion, clase.name()
+								.toLowerCase(), n, e));
+					} finally {
+						MatrizMath.setMultiplicador(original);
+					}
+				}
+			}
+		borrarTemporales();
+	}
+
+	private Operacion crearOperacion(String nombre, final MatrizMath a, final MatrizMath b, final VectorMath v,
+			final VectorMath w) throws IOException {
+		if (nombre.equals("producto"))
+			return new Operacion() {
+				public double ejecutar() throws Exception {
+					return a.producto(b).get(0, 0);
+				}
+			};
+		if (nombre.equals("producto-simple") || nombre.equals("producto-bloques")) {
+			MatrizMath.setMultiplicador(nombre.equals("producto-simple") ? new MultiplicadorSimple()
+					: new MultiplicadorBloques());
+			return new Operacion() {
+				public double ejecutar() throws Exception {
+					return a.producto(b).get(0, 0);
+				}
+			};
+		}
+		if (nombre.equals("determinante"))
+			return new Operacion() {
+				public double ejecutar() throws Exception {
+					return a.determinante();
+				}
+			};
+		if (nombre.equals("inversa"))
+			return new Operacion() {
+				public double ejecutar() throws Exception {
+					return a.inversa().get(0, 0);
+				}
+			};
+		if (nombre.equals("sel"))
+			return new Operacion() {
+				public double ejecutar() throws Exception {
+					SEL sel = new SEL(a, v);
+					sel.resolver();
+					return sel.getError();
+				}
+			};
+		if (nombre.equals("lectura-texto")) {
+			final String archivo = escribirTexto(a, v).getPath();
+			return new Operacion() {
+				public double ejecutar() throws Exception {
+					return new SEL(archivo).getB().get(0);
+				}
+			};
+		}
+		if (nombre.equals("lectura-binaria")) {
+			final String archivo = escribirBinario(a, v).getPath();
+			return new Operacion() {
+				public double ejecutar() throws Exception {
+					return new SEL(archivo).getB().get(0);
+				}
+			};
+		}
+		if (nombre.equals("vector"))
+			return new Operacion() {
+				public double ejecutar() throws Exception {
+					return v.sumar(w).restar(v).producto(w) + v.normaDos() + v.producto(2.0).normaInfinito();
+				}
+			};
+		return null;
+	}
+
+	private File escribirTexto(MatrizMath a, VectorMath v) throws IOException {
+		if (texto == null) {
+			texto = File.createTempFile("benchmark", ".in");
+			texto.deleteOnExit();
+		}
+		int n = v.getDimension();
+		double[] valores = a.getValores();
+		EscritorNumeros out = new EscritorNumeros(new FileOutputStream(texto));
+		try {
+			out.escribir(n).nuevaLinea();
+			for (int i = 0; i < n; i++) {
+				for (int j = 0; j < n; j++)
+					out.escribir(valores[i * n + j]).escribir(' ');
+				out.nuevaLinea();
+			}
+			for (int i = 0; i < n; i++)
+				out.escribir(v.get(i)).nuevaLinea();
+		} finally {
+			out.close();
+		}
+		return texto;
+	}
+
+	private File escribirBinario(MatrizMath a, VectorMath v) throws IOException {
+		if (binario == null) {
+			binario = File.createTempFile("benchmark", ".bin");
+			binario.deleteOnExit();
+		}
+		FormatoBinario.escribir(binario.getPath(), a, v);
+		return binario;
+	}
+
+	private void borrarTemporales() {
+		if (texto != null)
+			texto.delete();
+		if (binario != null)
+			binario.delete();
+	}
+
+	public static void main(String[] args) {
+		BenchmarkSEL benchmark = new BenchmarkSEL();
+		try {
+			for (int i = 0; i + 1 < args.length; i += 2) {
+				String valor = args[i + 1];
+				if (args[i].equals("-tamanios")) {
+					String[] partes = valor.split(",");
+					benchmark.tamanios = new int[partes.length];
+					for (int j = 0; j < partes.length; j++)
+						benchmark.tamanios[j] = Integer.parseInt(partes[j].trim());
+				} else if (args[i].equals("-operaciones")) {
+					benchmark.operaciones = Arrays.asList(valor.split(","));
+				} else if (args[i].equals("-clases")) {
+					List<Clase> clases = new ArrayList<Clase>();
+					for (String clase : valor.split(","))
+						clases.add(Clase.valueOf(clase.trim().toUpperCase()));
+					benchmark.clases = clases;
+				} else if (args[i].equals("-csv")) {
+					benchmark.csv = new PrintWriter(new FileWriter(valor));
+				} else {
+					throw new IllegalArgumentException("Opcion desconocida: " + args[i]);
+				}
+			}
+			benchmark.ejecutar();
+		} catch (Exception e) {
+			e.printStackTrace();
+		} finally {
+			if (benchmark.csv != null)
+				benchmark.csv.close();
+		}
+	}
+}
@@ -0,0 +1,48 @@
+package ar.edu.unlam.test;
+
+import java.io.File;
+
+import ar.edu.unlam.math.SEL;
+
+/**
+ * Convierte los archivos de entrada de SEL del formato de texto al formato
+ * binario, para que las siguientes lecturas no tengan que interpretar texto.
+ *
+ * Uso: ConversorBinario [origen] [destino]. Si el origen es un directorio se
+ * convierten todos sus archivos y cada resultado se guarda en el directorio
+ * destino con extension .bin
+ *
+ * @author yoni
+ *
+ */
+public class ConversorBinario {
+
+	public static void convertir(String origen, String destino) throws Exception {
+		SEL sel = new SEL(origen);
+		sel.guardarBinario(destino);
+	}
+
+	public static void main(String[] args) {
+		String origen = args.length > 0 ? args[0] : "test/input";
+		String destino = args.length > 1 ? args[1] : "test/input binario";
+		try {
+			File archivoOrigen = new File(origen);
+			if (!archivoOrigen.isDirectory()) {
+				convertir(origen, destino);
+				return;
+			}
+
+			File directorioDestino = new File(destino);
+			directorioDestino.mkdirs();
+			for (File archivo : archivoOrigen.listFiles()) {
+				String nombre = archivo.getName().split("\\.")[0];
+				long inicio = System.nanoTime();
+				convertir(archivo.getPath(), new File(directorioDestino, nombre + ".bin").getPath());
+				long fin = System.nanoTime();
+				System.out.println(nombre + ": " + (fin - inicio) / 1000000 + " ms");
+			}
+		} catch (Exception e) {
+			e.printStackTrace();
+		}
+	}
+}